@@ -2,8 +2,12 @@ package com.devaloi.springapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
-@SpringBootApplication
+// R2DBC is wired by ReactivePersistenceConfig; Boot's connection factory would replace the JDBC DataSource.
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@ConfigurationPropertiesScan
 public class SpringapiApplication {
 
     public static void main(String[] args) {
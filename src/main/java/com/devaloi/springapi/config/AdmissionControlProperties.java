@@ -0,0 +1,31 @@
+package com.devaloi.springapi.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "tasks.admission")
+public record AdmissionControlProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue RateLimit rateLimit,
+        @DefaultValue Concurrency reads,
+        @DefaultValue Concurrency writes
+) {
+
+    public record RateLimit(
+            @DefaultValue("50") double requestsPerSecond,
+            @DefaultValue("100") int burst,
+            @DefaultValue("10000") int maxClients
+    ) {
+    }
+
+    public record Concurrency(
+            @DefaultValue("64") int initialLimit,
+            @DefaultValue("4") int minLimit,
+            @DefaultValue("512") int maxLimit,
+            @DefaultValue("250ms") Duration targetLatency,
+            @DefaultValue("0.9") double backoffRatio,
+            @DefaultValue("1s") Duration retryAfter
+    ) {
+    }
+}
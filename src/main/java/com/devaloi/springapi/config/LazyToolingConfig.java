@@ -0,0 +1,44 @@
+package com.devaloi.springapi.config;
+
+import java.util.List;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Defers developer tooling until it is first used, enabled with {@code tasks.startup.lazy-tooling=true}.
+ *
+ * <p>Unlike {@code spring.main.lazy-initialization}, which would move the cost of every bean onto the first
+ * requests, only beans declared by the prefixes below are made lazy. Their endpoints stay mapped; the beans
+ * behind them are created on the first call to Swagger UI or the API docs.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "tasks.startup.lazy-tooling", havingValue = "true")
+public class LazyToolingConfig {
+
+    static final List<String> LAZY_PREFIXES = List.of("org.springdoc.", "com.devaloi.springapi.config.OpenApiConfig");
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyToolingPostProcessor() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (isTooling(beanFactory, definition)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    private static boolean isTooling(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        if (className == null && definition.getFactoryBeanName() != null
+                && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+            className = beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+        }
+        return className != null && LAZY_PREFIXES.stream().anyMatch(className::startsWith);
+    }
+}
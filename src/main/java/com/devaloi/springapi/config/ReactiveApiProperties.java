@@ -0,0 +1,12 @@
+package com.devaloi.springapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "tasks.reactive")
+public record ReactiveApiProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int maxPoolSize,
+        @DefaultValue("64") int prefetch
+) {
+}
@@ -0,0 +1,58 @@
+package com.devaloi.springapi.config;
+
+import com.devaloi.springapi.repository.ReactiveTaskRepository;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Non-blocking access to the primary database for the v2 API.
+ *
+ * <p>The R2DBC pool points at the same database as {@code spring.datasource.url}, so both APIs see the same
+ * tasks. It is deliberately not registered as a {@link ConnectionFactory} bean: Spring Boot backs off the
+ * JDBC {@code DataSource} as soon as one exists, and an R2DBC transaction manager bean would make the JPA one
+ * ambiguous for {@code @Transactional}. The repository owns the pool and its transactions instead.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression(ReactivePersistenceConfig.ENABLED)
+public class ReactivePersistenceConfig {
+
+    /**
+     * The v2 API reads and writes the database directly, which only the JPA engine keeps in sync with.
+     */
+    public static final String ENABLED = "${tasks.reactive.enabled:true} and '${tasks.engine.type:jpa}' == 'jpa'";
+
+    private static final String H2_URL_PREFIX = "jdbc:h2:";
+
+    @Bean
+    public ReactiveTaskRepository reactiveTaskRepository(DataSourceProperties dataSource,
+                                                         ReactiveApiProperties properties) {
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(h2ConnectionFactory(dataSource))
+                .name("reactive")
+                .initialSize(1)
+                .maxSize(properties.maxPoolSize())
+                .build());
+        return new ReactiveTaskRepository(pool, properties.prefetch());
+    }
+
+    private static ConnectionFactory h2ConnectionFactory(DataSourceProperties dataSource) {
+        String url = dataSource.determineUrl();
+        if (url == null || !url.startsWith(H2_URL_PREFIX)) {
+            throw new IllegalStateException(
+                    "The v2 API only supports H2, set tasks.reactive.enabled=false for " + url);
+        }
+        H2ConnectionConfiguration.Builder configuration = H2ConnectionConfiguration.builder()
+                .url(url.substring(H2_URL_PREFIX.length()))
+                .username(dataSource.determineUsername());
+        if (dataSource.determinePassword() != null) {
+            configuration.password(dataSource.determinePassword());
+        }
+        return new H2ConnectionFactory(configuration.build());
+    }
+}
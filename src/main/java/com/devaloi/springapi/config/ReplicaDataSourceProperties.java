@@ -0,0 +1,22 @@
+package com.devaloi.springapi.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "tasks.datasource.replica")
+public record ReplicaDataSourceProperties(
+        String url,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("2s") Duration readYourWritesWindow,
+        @DefaultValue H2Sync h2Sync
+) {
+
+    public record H2Sync(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("1s") Duration interval
+    ) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.devaloi.springapi.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "tasks.archive")
+public record TaskArchiveProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("30d") Duration minAge,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("200ms") Duration batchPause,
+        @DefaultValue("1h") Duration interval
+) {
+}
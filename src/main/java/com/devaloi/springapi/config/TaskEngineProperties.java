@@ -0,0 +1,17 @@
+package com.devaloi.springapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "tasks.engine")
+public record TaskEngineProperties(
+        @DefaultValue("jpa") Type type,
+        @DefaultValue("true") boolean writeThrough,
+        @DefaultValue("1000") int loadBatchSize
+) {
+
+    public enum Type {
+        JPA,
+        MEMORY
+    }
+}
@@ -0,0 +1,16 @@
+package com.devaloi.springapi.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "tasks.ingest")
+public record TaskIngestProperties(
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("50ms") Duration flushInterval,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("30s") Duration shutdownTimeout
+) {
+}
@@ -0,0 +1,17 @@
+package com.devaloi.springapi.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "tasks.journal")
+public record TaskJournalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/journal") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("10m") Duration snapshotInterval,
+        @DefaultValue("5s") Duration syncTimeout
+) {
+}
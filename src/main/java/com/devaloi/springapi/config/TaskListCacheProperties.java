@@ -0,0 +1,11 @@
+package com.devaloi.springapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "tasks.list-cache")
+public record TaskListCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") int maxEntries
+) {
+}
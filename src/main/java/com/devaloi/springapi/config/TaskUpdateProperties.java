@@ -0,0 +1,13 @@
+package com.devaloi.springapi.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "tasks.update")
+public record TaskUpdateProperties(
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("2ms") Duration initialBackoff,
+        @DefaultValue("50ms") Duration maxBackoff
+) {
+}
@@ -0,0 +1,112 @@
+package com.devaloi.springapi.controller;
+
+import com.devaloi.springapi.config.ReactivePersistenceConfig;
+import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.dto.UpdateTaskRequest;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.service.ReactiveTaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.security.Principal;
+import java.time.LocalDate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The task API on R2DBC. The request thread is released while the database works; with the embedded H2
+ * driver the statements run on Reactor's bounded elastic workers instead (see {@code ReactiveTaskRepository}).
+ *
+ * <p>Lists are written as {@code application/x-ndjson}, one task per line as rows arrive, with the next row
+ * requested only once the previous one has been written. {@code Accept: application/json} collects the page
+ * into a JSON array instead.
+ */
+@RestController
+@RequestMapping("/api/v2/tasks")
+@ConditionalOnExpression(ReactivePersistenceConfig.ENABLED)
+@Tag(name = "Tasks v2", description = "Reactive task endpoints")
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService taskService;
+
+    public ReactiveTaskController(ReactiveTaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a new task", responses = {
+            @ApiResponse(responseCode = "201", description = "Task created"),
+            @ApiResponse(responseCode = "400", description = "Validation error")})
+    public Mono<ResponseEntity<TaskResponse>> create(@Valid @RequestBody CreateTaskRequest request,
+                                                     Principal principal) {
+        return taskService.create(request, principal.getName()).map(response ->
+                ResponseEntity.created(URI.create("/api/v2/tasks/" + response.id())).body(response));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a task by ID", responses = {
+            @ApiResponse(responseCode = "200", description = "Task found"),
+            @ApiResponse(responseCode = "404", description = "Task not found")})
+    public Mono<TaskResponse> getById(@PathVariable Long id) {
+        return taskService.getById(id);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "List tasks with filtering and pagination",
+            description = "Streams one task per line unless the client asks for application/json")
+    public Flux<TaskResponse> getAll(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) String search,
+            @Parameter(description = "Only tasks due on or after this date (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @Parameter(description = "Only tasks due on or before this date (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @Parameter(description = "true for tasks past their due date and not DONE, false for all others")
+            @RequestParam(required = false) Boolean overdue,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return taskService.getAll(new TaskFilter(status, priority, search, dueFrom, dueTo, overdue, null), pageable);
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update an existing task",
+            description = "Unset fields are left as they are. With a version, the update only applies to that version.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task updated"),
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "409", description = "Version is stale, or the task is too contended; "
+                            + "the body carries the current task")})
+    public Mono<TaskResponse> update(@PathVariable Long id, @Valid @RequestBody UpdateTaskRequest request) {
+        return taskService.update(id, request);
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a task", responses = {
+            @ApiResponse(responseCode = "204", description = "Task deleted"),
+            @ApiResponse(responseCode = "404", description = "Task not found")})
+    public Mono<ResponseEntity<Void>> delete(@PathVariable Long id) {
+        return taskService.delete(id).then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+}
@@ -1,21 +1,39 @@
 package com.devaloi.springapi.controller;
 
+import com.devaloi.springapi.config.WebConfig;
 import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.OverdueSummary;
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
 import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.dto.TaskStats;
 import com.devaloi.springapi.dto.UpdateTaskRequest;
 import com.devaloi.springapi.entity.TaskPriority;
 import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.exception.IngestFailedException;
+import com.devaloi.springapi.service.ArchivedTaskService;
+import com.devaloi.springapi.service.TaskIngestionService;
 import com.devaloi.springapi.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import java.net.URI;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -32,43 +50,130 @@ import org.springframework.web.bind.annotation.RestController;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskIngestionService taskIngestionService;
+    private final ArchivedTaskService archivedTaskService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskIngestionService taskIngestionService,
+                          ArchivedTaskService archivedTaskService) {
         this.taskService = taskService;
+        this.taskIngestionService = taskIngestionService;
+        this.archivedTaskService = archivedTaskService;
     }
 
     @PostMapping
     @Operation(summary = "Create a new task", responses = {
             @ApiResponse(responseCode = "201", description = "Task created"),
-            @ApiResponse(responseCode = "400", description = "Validation error")})
-    public ResponseEntity<TaskResponse> create(@Valid @RequestBody CreateTaskRequest request) {
-        TaskResponse response = taskService.create(request);
+            @ApiResponse(responseCode = "202", description = "Task accepted for asynchronous insert"),
+            @ApiResponse(responseCode = "400", description = "Validation error"),
+            @ApiResponse(responseCode = "429", description = "Ingest queue full")})
+    public ResponseEntity<TaskResponse> create(
+            @Valid @RequestBody CreateTaskRequest request,
+            @RequestParam(defaultValue = "false") boolean async,
+            Principal principal) {
+        if (async) {
+            TaskResponse accepted = taskIngestionService.submit(request, principal.getName());
+            return ResponseEntity.accepted().location(URI.create("/api/tasks/" + accepted.id())).body(accepted);
+        }
+        TaskResponse response = taskService.create(request, principal.getName());
         URI location = URI.create("/api/tasks/" + response.id());
         return ResponseEntity.created(location).body(response);
     }
 
-    @GetMapping("/{id}")
+    @GetMapping(value = "/{id}", produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
     @Operation(summary = "Get a task by ID", responses = {
-            @ApiResponse(responseCode = "200", description = "Task found"),
-            @ApiResponse(responseCode = "404", description = "Task not found")})
-    public ResponseEntity<TaskResponse> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(taskService.getById(id));
+            @ApiResponse(responseCode = "200", description = "Task found",
+                    content = @Content(schema = @Schema(implementation = TaskResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "410", description = "Task was accepted asynchronously but never written")})
+    public ResponseEntity<?> getById(
+            @PathVariable Long id,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title,status")
+            @RequestParam(required = false) Set<TaskField> fields,
+            @Parameter(description = "Look the task up in the archive when it is no longer live")
+            @RequestParam(defaultValue = "false") boolean archived) {
+        boolean allFields = fields == null || fields.isEmpty();
+        TaskResponse task;
+        try {
+            task = allFields ? taskService.getById(id) : taskService.getById(id, fields);
+        } catch (EntityNotFoundException ex) {
+            if (taskIngestionService.isDropped(id)) {
+                throw new IngestFailedException(id);
+            }
+            if (!archived) {
+                throw ex;
+            }
+            task = archivedTaskService.getById(id);
+        }
+        return ResponseEntity.ok(allFields ? task : withFields(task, fields));
     }
 
-    @GetMapping
+    @GetMapping(produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
     @Operation(summary = "List tasks with filtering and pagination")
-    public ResponseEntity<Page<TaskResponse>> getAll(
+    public ResponseEntity<?> getAll(
             @RequestParam(required = false) TaskStatus status,
             @RequestParam(required = false) TaskPriority priority,
             @RequestParam(required = false) String search,
+            @Parameter(description = "Only tasks due on or after this date (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @Parameter(description = "Only tasks due on or before this date (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @Parameter(description = "true for tasks past their due date and not DONE, false for all others")
+            @RequestParam(required = false) Boolean overdue,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title,status")
+            @RequestParam(required = false) Set<TaskField> fields,
+            @Parameter(description = "List archived tasks instead of live ones")
+            @RequestParam(defaultValue = "false") boolean archived,
             @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        return ResponseEntity.ok(taskService.getAll(status, priority, search, pageable));
+        return list(new TaskFilter(status, priority, search, dueFrom, dueTo, overdue, null), fields, archived,
+                pageable);
+    }
+
+    @GetMapping(value = "/mine", produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
+    @Operation(summary = "List the authenticated user's tasks",
+            description = "Takes the same filters as the full list; served from the owner-leading index")
+    public ResponseEntity<?> getMine(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) String search,
+            @Parameter(description = "Only tasks due on or after this date (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @Parameter(description = "Only tasks due on or before this date (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @Parameter(description = "true for tasks past their due date and not DONE, false for all others")
+            @RequestParam(required = false) Boolean overdue,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title,status")
+            @RequestParam(required = false) Set<TaskField> fields,
+            @Parameter(description = "List archived tasks instead of live ones")
+            @RequestParam(defaultValue = "false") boolean archived,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            Principal principal) {
+        TaskFilter filter = new TaskFilter(status, priority, search, dueFrom, dueTo, overdue, principal.getName());
+        return list(filter, fields, archived, pageable);
+    }
+
+    @GetMapping("/mine/stats")
+    @Operation(summary = "Count the authenticated user's tasks by status, and how many are overdue")
+    public ResponseEntity<TaskStats> getMyStats(Principal principal) {
+        return ResponseEntity.ok(taskService.getStats(principal.getName()));
+    }
+
+    @GetMapping("/overdue/count")
+    @Operation(summary = "Count open tasks past their due date")
+    public ResponseEntity<OverdueSummary> countOverdue() {
+        return ResponseEntity.ok(taskService.getOverdueSummary());
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update an existing task", responses = {
-            @ApiResponse(responseCode = "200", description = "Task updated"),
-            @ApiResponse(responseCode = "404", description = "Task not found")})
+    @Operation(summary = "Update an existing task",
+            description = "Unset fields are left as they are. With a version, the update only applies to that version.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task updated"),
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "409", description = "Version is stale, or the task is too contended; "
+                            + "the body carries the current task")})
     public ResponseEntity<TaskResponse> update(
             @PathVariable Long id,
             @Valid @RequestBody UpdateTaskRequest request) {
@@ -83,4 +188,21 @@ public class TaskController {
         taskService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<?> list(TaskFilter filter, Set<TaskField> fields, boolean archived, Pageable pageable) {
+        if (archived) {
+            Page<TaskResponse> page = archivedTaskService.getAll(filter, pageable);
+            return ResponseEntity.ok(fields == null || fields.isEmpty() ? page : withFields(page, fields));
+        }
+        if (fields == null || fields.isEmpty()) {
+            return ResponseEntity.ok(taskService.getAll(filter, pageable));
+        }
+        return ResponseEntity.ok(withFields(taskService.getAll(filter, fields, pageable), fields));
+    }
+
+    private static MappingJacksonValue withFields(Object body, Set<TaskField> fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(TaskResponse.onlyFields(fields));
+        return value;
+    }
 }
@@ -0,0 +1,6 @@
+package com.devaloi.springapi.datasource;
+
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,124 @@
+package com.devaloi.springapi.datasource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Local stand-in for database replication between two H2 instances.
+ *
+ * <p>Every interval the replica re-copies each base table of the primary through H2 linked tables, in one
+ * transaction per run. This gives the replica a real, bounded replication lag, which is what the
+ * read-your-writes window has to cover. It is meant for development and tests only.
+ */
+public class H2ReplicaSynchronizer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(H2ReplicaSynchronizer.class);
+
+    private static final String LINK_SCHEMA = "PRIMARY_LINK";
+
+    private final String primaryUrl;
+    private final String primaryUsername;
+    private final String primaryPassword;
+    private final String replicaUrl;
+    private final String replicaUsername;
+    private final String replicaPassword;
+    private final Duration interval;
+
+    private ScheduledExecutorService executor;
+
+    public H2ReplicaSynchronizer(String primaryUrl, String primaryUsername, String primaryPassword,
+                                 String replicaUrl, String replicaUsername, String replicaPassword,
+                                 Duration interval) {
+        this.primaryUrl = primaryUrl;
+        this.primaryUsername = primaryUsername;
+        this.primaryPassword = primaryPassword;
+        this.replicaUrl = replicaUrl;
+        this.replicaUsername = replicaUsername;
+        this.replicaPassword = replicaPassword;
+        this.interval = interval;
+    }
+
+    public synchronized void sync() {
+        try (Connection primary = DriverManager.getConnection(primaryUrl, primaryUsername, primaryPassword);
+             Connection replica = DriverManager.getConnection(replicaUrl, replicaUsername, replicaPassword)) {
+            List<String> tables = baseTables(primary);
+            replica.setAutoCommit(false);
+            try (Statement statement = replica.createStatement()) {
+                statement.execute("CREATE SCHEMA IF NOT EXISTS " + LINK_SCHEMA);
+                for (String table : tables) {
+                    String linked = LINK_SCHEMA + ".\"" + table + "\"";
+                    String local = "PUBLIC.\"" + table + "\"";
+                    statement.execute("CREATE LINKED TABLE IF NOT EXISTS " + linked + "('org.h2.Driver', "
+                            + literal(primaryUrl) + ", " + literal(primaryUsername) + ", "
+                            + literal(primaryPassword) + ", " + literal("PUBLIC.\"" + table + "\"") + ") READONLY");
+                    statement.execute("CREATE TABLE IF NOT EXISTS " + local
+                            + " AS SELECT * FROM " + linked + " WITH NO DATA");
+                    statement.execute("DELETE FROM " + local);
+                    statement.execute("INSERT INTO " + local + " SELECT * FROM " + linked);
+                }
+            }
+            replica.commit();
+        } catch (SQLException ex) {
+            log.warn("Replica sync failed", ex);
+        }
+    }
+
+    private static List<String> baseTables(Connection primary) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = primary.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+                     + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'")) {
+            while (rs.next()) {
+                tables.add(rs.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    private static String literal(String value) {
+        return value == null ? "''" : "'" + value.replace("'", "''") + "'";
+    }
+
+    @Override
+    public void start() {
+        sync();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "h2-replica-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        executor.scheduleWithFixedDelay(this::sync, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    @Override
+    public int getPhase() {
+        // Seed the replica before the web server starts taking reads.
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
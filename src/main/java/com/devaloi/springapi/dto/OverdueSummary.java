@@ -0,0 +1,6 @@
+package com.devaloi.springapi.dto;
+
+import java.time.LocalDate;
+
+public record OverdueSummary(long count, LocalDate asOf) {
+}
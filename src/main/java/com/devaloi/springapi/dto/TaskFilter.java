@@ -0,0 +1,45 @@
+package com.devaloi.springapi.dto;
+
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import java.time.LocalDate;
+
+/**
+ * Optional criteria for listing tasks; a {@code null} component does not filter.
+ *
+ * <p>{@code dueFrom} and {@code dueTo} are inclusive and exclude tasks without a due date. A task is overdue
+ * when its due date is before today and it is not {@link TaskStatus#DONE}; {@code overdue=false} selects
+ * every other task. {@code owner} restricts the list to one user's tasks.
+ */
+public record TaskFilter(
+        TaskStatus status,
+        TaskPriority priority,
+        String search,
+        LocalDate dueFrom,
+        LocalDate dueTo,
+        Boolean overdue,
+        String owner
+) {
+
+    public static final TaskFilter NONE = new TaskFilter(null, null, null, null, null, null, null);
+
+    public static TaskFilter of(TaskStatus status, TaskPriority priority, String search) {
+        return new TaskFilter(status, priority, search, null, null, null, null);
+    }
+
+    public TaskFilter withOwner(String owner) {
+        return new TaskFilter(status, priority, search, dueFrom, dueTo, overdue, owner);
+    }
+
+    public boolean hasDueRange() {
+        return dueFrom != null || dueTo != null;
+    }
+
+    /**
+     * True when the filter asks for overdue tasks and nothing else, which the overdue index answers alone.
+     */
+    public boolean isOverdueOnly() {
+        return Boolean.TRUE.equals(overdue) && status == null && priority == null && search == null
+                && !hasDueRange() && owner == null;
+    }
+}
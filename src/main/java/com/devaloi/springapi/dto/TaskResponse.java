@@ -1,11 +1,21 @@
 package com.devaloi.springapi.dto;
 
+import com.devaloi.springapi.entity.ArchivedTask;
 import com.devaloi.springapi.entity.Task;
 import com.devaloi.springapi.entity.TaskPriority;
 import com.devaloi.springapi.entity.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+@JsonFilter(TaskResponse.FIELDS_FILTER)
 public record TaskResponse(
         Long id,
         String title,
@@ -14,8 +24,12 @@ public record TaskResponse(
         TaskPriority priority,
         LocalDate dueDate,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        Long version,
+        String owner
 ) {
+    public static final String FIELDS_FILTER = "taskFields";
+
     public static TaskResponse from(Task task) {
         return new TaskResponse(
                 task.getId(),
@@ -25,7 +39,64 @@ public record TaskResponse(
                 task.getPriority(),
                 task.getDueDate(),
                 task.getCreatedAt(),
-                task.getUpdatedAt()
+                task.getUpdatedAt(),
+                task.getVersion(),
+                task.getOwner()
+        );
+    }
+
+    public static TaskResponse from(ArchivedTask task) {
+        return new TaskResponse(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                task.getPriority(),
+                task.getDueDate(),
+                task.getCreatedAt(),
+                task.getUpdatedAt(),
+                null,
+                task.getOwner()
         );
     }
+
+    public static TaskResponse from(Tuple tuple) {
+        Long id = null;
+        String title = null;
+        String description = null;
+        TaskStatus status = null;
+        TaskPriority priority = null;
+        LocalDate dueDate = null;
+        LocalDateTime createdAt = null;
+        LocalDateTime updatedAt = null;
+        Long version = null;
+        String owner = null;
+        for (TupleElement<?> element : tuple.getElements()) {
+            Object value = tuple.get(element);
+            switch (TaskField.fromProperty(element.getAlias())) {
+                case ID -> id = (Long) value;
+                case TITLE -> title = (String) value;
+                case DESCRIPTION -> description = (String) value;
+                case STATUS -> status = (TaskStatus) value;
+                case PRIORITY -> priority = (TaskPriority) value;
+                case DUE_DATE -> dueDate = (LocalDate) value;
+                case CREATED_AT -> createdAt = (LocalDateTime) value;
+                case UPDATED_AT -> updatedAt = (LocalDateTime) value;
+                case VERSION -> version = (Long) value;
+                case OWNER -> owner = (String) value;
+            }
+        }
+        return new TaskResponse(id, title, description, status, priority, dueDate, createdAt, updatedAt, version,
+                owner);
+    }
+
+    public static FilterProvider allFields() {
+        return new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    public static FilterProvider onlyFields(Set<TaskField> fields) {
+        Set<String> properties = fields.stream().map(TaskField::property).collect(Collectors.toSet());
+        return new SimpleFilterProvider()
+                .addFilter(FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(properties));
+    }
 }
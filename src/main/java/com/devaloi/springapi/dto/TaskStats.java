@@ -0,0 +1,11 @@
+package com.devaloi.springapi.dto;
+
+import com.devaloi.springapi.entity.TaskStatus;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Task counts for one owner; {@code byStatus} has an entry for every status.
+ */
+public record TaskStats(String owner, long total, Map<TaskStatus, Long> byStatus, long overdue, LocalDate asOf) {
+}
@@ -2,6 +2,7 @@ package com.devaloi.springapi.dto;
 
 import com.devaloi.springapi.entity.TaskPriority;
 import com.devaloi.springapi.entity.TaskStatus;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 
@@ -16,6 +17,9 @@ public record UpdateTaskRequest(
 
         TaskPriority priority,
 
-        LocalDate dueDate
+        LocalDate dueDate,
+
+        @PositiveOrZero(message = "Version must not be negative")
+        Long version
 ) {
 }
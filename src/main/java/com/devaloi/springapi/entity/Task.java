@@ -7,20 +7,40 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_due_date_status", columnList = "due_date, status"),
+        @Index(name = "idx_tasks_owner_status_created_at", columnList = "owner, status, created_at")})
 public class Task {
 
+    public static final String ID_SEQUENCE = "tasks_seq";
+
+    /**
+     * Owner of tasks created before tasks had owners, and of tasks written without an authenticated user.
+     */
+    public static final String SYSTEM_OWNER = "system";
+
+    public static final int OWNER_MAX_LENGTH = 100;
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
+    @Column(nullable = false, updatable = false, length = OWNER_MAX_LENGTH)
+    private String owner = SYSTEM_OWNER;
+
     @Column(nullable = false)
     private String title;
 
@@ -43,6 +63,10 @@ public class Task {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -62,6 +86,14 @@ public class Task {
         this.id = id;
     }
 
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -117,4 +149,12 @@ public class Task {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
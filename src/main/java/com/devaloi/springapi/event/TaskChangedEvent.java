@@ -0,0 +1,35 @@
+package com.devaloi.springapi.event;
+
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.entity.TaskStatus;
+
+/**
+ * Published for every task mutation, inside the writing transaction when there is one.
+ *
+ * <p>{@code task} is the state after the change and is {@code null} for deletions. {@code previousStatus} is
+ * the status before an update or deletion, or {@code null} when the writer did not know it.
+ */
+public record TaskChangedEvent(Type type, long taskId, TaskResponse task, TaskStatus previousStatus) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskChangedEvent created(TaskResponse task) {
+        return new TaskChangedEvent(Type.CREATED, task.id(), task, null);
+    }
+
+    public static TaskChangedEvent updated(TaskResponse task, TaskStatus previousStatus) {
+        return new TaskChangedEvent(Type.UPDATED, task.id(), task, previousStatus);
+    }
+
+    public static TaskChangedEvent deleted(long taskId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, null, null);
+    }
+
+    public static TaskChangedEvent deleted(long taskId, TaskStatus previousStatus) {
+        return new TaskChangedEvent(Type.DELETED, taskId, null, previousStatus);
+    }
+}
@@ -0,0 +1,17 @@
+package com.devaloi.springapi.exception;
+
+import com.devaloi.springapi.dto.TaskResponse;
+import java.time.LocalDateTime;
+
+public record ConflictResponse(
+        int status,
+        String error,
+        String message,
+        String path,
+        LocalDateTime timestamp,
+        TaskResponse current
+) {
+    public ConflictResponse(int status, String error, String message, String path, TaskResponse current) {
+        this(status, error, message, path, LocalDateTime.now(), current);
+    }
+}
@@ -0,0 +1,110 @@
+package com.devaloi.springapi.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.FieldError;
+
+/**
+ * The JSON form of {@link ErrorResponse} for one status and error, with everything up to the message
+ * encoded once.
+ *
+ * <p>Rendering appends the escaped message, path, timestamp and field errors to the cached prefix. The
+ * output is what Jackson writes for the equivalent {@link ErrorResponse}, without going through
+ * an {@code ObjectMapper} or allocating the record and its field error map.
+ */
+final class ErrorBodyTemplate {
+
+    private static final JsonStringEncoder ENCODER = JsonStringEncoder.getInstance();
+    private static final byte[] PATH = ascii(",\"path\":");
+    private static final byte[] TIMESTAMP = ascii(",\"timestamp\":\"");
+    private static final byte[] FIELD_ERRORS = ascii("\",\"fieldErrors\":");
+    private static final byte[] NULL = ascii("null");
+
+    private final HttpStatus status;
+    private final String error;
+    private final byte[] prefix;
+
+    ErrorBodyTemplate(HttpStatus status, String error) {
+        this.status = status;
+        this.error = error;
+        this.prefix = ascii("{\"status\":" + status.value() + ",\"error\":\""
+                + new String(ENCODER.quoteAsString(error)) + "\",\"message\":");
+    }
+
+    HttpStatus status() {
+        return status;
+    }
+
+    String error() {
+        return error;
+    }
+
+    byte[] render(String message, String path, LocalDateTime timestamp) {
+        return render(message, path, timestamp, null);
+    }
+
+    /**
+     * Renders the body; when a field has several errors the last one wins, as it would in a map.
+     */
+    byte[] render(String message, String path, LocalDateTime timestamp, List<FieldError> fieldErrors) {
+        ByteArrayBuilder out = new ByteArrayBuilder(256);
+        out.write(prefix);
+        string(out, message);
+        out.write(PATH);
+        string(out, path);
+        out.write(TIMESTAMP);
+        out.write(ascii(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp)));
+        out.write(FIELD_ERRORS);
+        if (fieldErrors == null) {
+            out.write(NULL);
+        } else {
+            out.append('{');
+            boolean first = true;
+            for (int i = 0; i < fieldErrors.size(); i++) {
+                FieldError fieldError = fieldErrors.get(i);
+                if (overriddenLater(fieldErrors, i)) {
+                    continue;
+                }
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                string(out, fieldError.getField());
+                out.append(':');
+                string(out, fieldError.getDefaultMessage());
+            }
+            out.append('}');
+        }
+        out.append('}');
+        return out.toByteArray();
+    }
+
+    private static boolean overriddenLater(List<FieldError> fieldErrors, int index) {
+        String field = fieldErrors.get(index).getField();
+        for (int i = index + 1; i < fieldErrors.size(); i++) {
+            if (fieldErrors.get(i).getField().equals(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void string(ByteArrayBuilder out, String value) {
+        if (value == null) {
+            out.write(NULL);
+            return;
+        }
+        out.append('"');
+        out.write(ENCODER.quoteAsUTF8(value));
+        out.append('"');
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -2,76 +2,166 @@ package com.devaloi.springapi.exception;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+/**
+ * Maps exceptions to {@link ErrorResponse} bodies.
+ *
+ * <p>Error responses are cheap enough to serve at the rate scanners probe for them: JSON bodies are rendered
+ * from pre-encoded {@link ErrorBodyTemplate}s, and only clients that do not accept JSON get an
+ * {@link ErrorResponse} serialized through the negotiated converter.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final ErrorBodyTemplate NOT_FOUND = new ErrorBodyTemplate(HttpStatus.NOT_FOUND, "Not Found");
+    private static final ErrorBodyTemplate GONE = new ErrorBodyTemplate(HttpStatus.GONE, "Gone");
+    private static final ErrorBodyTemplate VALIDATION_FAILED =
+            new ErrorBodyTemplate(HttpStatus.BAD_REQUEST, "Validation Failed");
+    private static final ErrorBodyTemplate BAD_REQUEST = new ErrorBodyTemplate(HttpStatus.BAD_REQUEST, "Bad Request");
+    private static final ErrorBodyTemplate TOO_MANY_REQUESTS =
+            new ErrorBodyTemplate(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests");
+    private static final ErrorBodyTemplate INTERNAL_SERVER_ERROR =
+            new ErrorBodyTemplate(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error");
+
     @ExceptionHandler(EntityNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleEntityNotFound(
+    public ResponseEntity<?> handleEntityNotFound(
             EntityNotFoundException ex, HttpServletRequest request) {
-        ErrorResponse error = new ErrorResponse(
-                HttpStatus.NOT_FOUND.value(),
-                "Not Found",
-                ex.getMessage(),
-                request.getRequestURI());
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        return respond(NOT_FOUND, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(IngestFailedException.class)
+    public ResponseEntity<?> handleIngestFailed(
+            IngestFailedException ex, HttpServletRequest request) {
+        return respond(GONE, ex.getMessage(), request);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ErrorResponse> handleValidation(
+    public ResponseEntity<?> handleValidation(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
-        Map<String, String> fieldErrors = new LinkedHashMap<>();
-        ex.getBindingResult().getFieldErrors()
-                .forEach(fe -> fieldErrors.put(fe.getField(), fe.getDefaultMessage()));
+        List<FieldError> fieldErrors = ex.getBindingResult().getFieldErrors();
+        String message = "Request body has invalid fields";
+        if (acceptsJson(request)) {
+            byte[] body = VALIDATION_FAILED.render(message, request.getRequestURI(), LocalDateTime.now(), fieldErrors);
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        fieldErrors.forEach(fe -> fields.put(fe.getField(), fe.getDefaultMessage()));
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
-                "Validation Failed",
-                "Request body has invalid fields",
+                VALIDATION_FAILED.error(),
+                message,
                 request.getRequestURI(),
-                fieldErrors);
+                fields);
         return ResponseEntity.badRequest().body(error);
     }
 
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
-    public ResponseEntity<ErrorResponse> handleTypeMismatch(
+    public ResponseEntity<?> handleTypeMismatch(
             MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
         String message = "Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'";
-        ErrorResponse error = new ErrorResponse(
-                HttpStatus.BAD_REQUEST.value(),
-                "Bad Request",
-                message,
-                request.getRequestURI());
-        return ResponseEntity.badRequest().body(error);
+        return respond(BAD_REQUEST, message, request);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<ErrorResponse> handleUnreadable(
+    public ResponseEntity<?> handleUnreadable(
             HttpMessageNotReadableException ex, HttpServletRequest request) {
-        ErrorResponse error = new ErrorResponse(
-                HttpStatus.BAD_REQUEST.value(),
-                "Bad Request",
-                "Malformed request body",
-                request.getRequestURI());
-        return ResponseEntity.badRequest().body(error);
+        return respond(BAD_REQUEST, "Malformed request body", request);
+    }
+
+    @ExceptionHandler(TaskConflictException.class)
+    public ResponseEntity<ConflictResponse> handleConflict(
+            TaskConflictException ex, HttpServletRequest request) {
+        ConflictResponse conflict = new ConflictResponse(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                ex.getMessage(),
+                request.getRequestURI(),
+                ex.getCurrent());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(conflict);
+    }
+
+    @ExceptionHandler(IngestQueueFullException.class)
+    public ResponseEntity<?> handleIngestQueueFull(
+            IngestQueueFullException ex, HttpServletRequest request) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(TOO_MANY_REQUESTS.status())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())));
+        return respond(builder, TOO_MANY_REQUESTS, ex.getMessage(), request);
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleGeneral(
+    public ResponseEntity<?> handleGeneral(
             Exception ex, HttpServletRequest request) {
+        return respond(INTERNAL_SERVER_ERROR, "An unexpected error occurred", request);
+    }
+
+    private static ResponseEntity<?> respond(ErrorBodyTemplate template, String message, HttpServletRequest request) {
+        return respond(ResponseEntity.status(template.status()), template, message, request);
+    }
+
+    private static ResponseEntity<?> respond(ResponseEntity.BodyBuilder builder, ErrorBodyTemplate template,
+                                             String message, HttpServletRequest request) {
+        if (acceptsJson(request)) {
+            byte[] body = template.render(message, request.getRequestURI(), LocalDateTime.now());
+            return builder.contentType(MediaType.APPLICATION_JSON).body(body);
+        }
         ErrorResponse error = new ErrorResponse(
-                HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                "Internal Server Error",
-                "An unexpected error occurred",
+                template.status().value(),
+                template.error(),
+                message,
                 request.getRequestURI());
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        return builder.body(error);
+    }
+
+    /**
+     * Takes the template path only when the client's most preferred type is JSON-compatible, including
+     * wildcards; a missing or unparseable header counts as JSON. Types with {@code q=0} are refused outright,
+     * and among equal qualities a concrete type wins over a wildcard, as in content negotiation.
+     */
+    private static boolean acceptsJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        List<MediaType> types;
+        try {
+            types = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return true;
+        }
+        MediaType preferred = null;
+        for (MediaType type : types) {
+            if (type.getQualityValue() > 0 && (preferred == null || isPreferred(type, preferred))) {
+                preferred = type;
+            }
+        }
+        return preferred != null && (preferred.isCompatibleWith(MediaType.APPLICATION_JSON)
+                || "json".equals(preferred.getSubtypeSuffix()));
+    }
+
+    private static boolean isPreferred(MediaType candidate, MediaType current) {
+        int byQuality = Double.compare(candidate.getQualityValue(), current.getQualityValue());
+        if (byQuality != 0) {
+            return byQuality > 0;
+        }
+        return wildcards(candidate) < wildcards(current);
+    }
+
+    private static int wildcards(MediaType type) {
+        return (type.isWildcardType() ? 1 : 0) + (type.isWildcardSubtype() ? 1 : 0);
     }
 }
@@ -0,0 +1,28 @@
+package com.devaloi.springapi.exception;
+
+/**
+ * A task that was accepted for asynchronous ingestion but could not be written. Like
+ * {@link TaskNotFoundException}, it is answered on a polling path and records no stack trace.
+ */
+public class IngestFailedException extends RuntimeException {
+
+    private final Long taskId;
+
+    public IngestFailedException(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Task " + taskId + " was accepted but could not be written; submit it again";
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
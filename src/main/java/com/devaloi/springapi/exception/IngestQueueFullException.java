@@ -0,0 +1,17 @@
+package com.devaloi.springapi.exception;
+
+import java.time.Duration;
+
+public class IngestQueueFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public IngestQueueFullException(int capacity, Duration retryAfter) {
+        super("Ingest queue is full (capacity " + capacity + "), retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
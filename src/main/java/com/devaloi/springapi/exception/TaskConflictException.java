@@ -0,0 +1,31 @@
+package com.devaloi.springapi.exception;
+
+import com.devaloi.springapi.dto.TaskResponse;
+
+/**
+ * An update that could not be applied: the caller expected an older version of the task, or concurrent
+ * writers kept changing it until the retries ran out. Carries the task as it is now so the caller can merge.
+ */
+public class TaskConflictException extends RuntimeException {
+
+    private final TaskResponse current;
+
+    public TaskConflictException(String message, TaskResponse current) {
+        super(message);
+        this.current = current;
+    }
+
+    public static TaskConflictException staleVersion(long expected, TaskResponse current) {
+        return new TaskConflictException("Task " + current.id() + " is at version " + current.version()
+                + ", not " + expected, current);
+    }
+
+    public static TaskConflictException contended(TaskResponse current) {
+        return new TaskConflictException("Task " + current.id()
+                + " kept changing concurrently; retry against the current version", current);
+    }
+
+    public TaskResponse getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,30 @@
+package com.devaloi.springapi.exception;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * A task id that does not exist. Misses are routine, from clients polling deleted tasks to scanners probing
+ * ids, so this exception records no stack trace and only builds its message when asked for it.
+ */
+public class TaskNotFoundException extends EntityNotFoundException {
+
+    private final Long taskId;
+
+    public TaskNotFoundException(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Task not found with id: " + taskId;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,76 @@
+package com.devaloi.springapi.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD concurrency limit for one endpoint class.
+ *
+ * <p>The limit grows by one while completions stay under the target latency and the limit is actually being
+ * used, and is multiplied by {@code backoffRatio} when a completion exceeds the target. Backoff is applied at
+ * most once per target-latency interval so a burst of slow responses does not collapse the limit to the floor.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final AtomicLong lastBackoff;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final LongSupplier nanoClock;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos,
+                                      double backoffRatio, LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Require 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        this.limit = new AtomicInteger(initialLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.nanoClock = nanoClock;
+        this.lastBackoff = new AtomicLong(nanoClock.getAsLong() - targetLatencyNanos);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int before = inFlight.getAndDecrement();
+        if (latencyNanos > targetLatencyNanos) {
+            backoff();
+        } else if (before * 2 >= limit.get()) {
+            limit.getAndUpdate(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void backoff() {
+        long now = nanoClock.getAsLong();
+        long last = lastBackoff.get();
+        if (now - last < targetLatencyNanos || !lastBackoff.compareAndSet(last, now)) {
+            return;
+        }
+        limit.getAndUpdate(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+    }
+}
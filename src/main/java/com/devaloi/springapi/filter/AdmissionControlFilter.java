@@ -0,0 +1,171 @@
+package com.devaloi.springapi.filter;
+
+import com.devaloi.springapi.config.AdmissionControlProperties;
+import com.devaloi.springapi.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Admission control in front of the task API.
+ *
+ * <p>Runs inside the security filter chain after authentication so clients are keyed by principal, falling
+ * back to the remote address for anonymous reads. A request must first take a token from its client's bucket
+ * ({@code 429} otherwise) and then a slot from the concurrency limit of its endpoint class ({@code 503}
+ * otherwise). Both rejections carry {@code Retry-After}.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/";
+
+    private final TokenBucketLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final long readRetryAfterSeconds;
+    private final long writeRetryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, ObjectMapper objectMapper) {
+        this(properties, objectMapper, System::nanoTime);
+    }
+
+    AdmissionControlFilter(AdmissionControlProperties properties, ObjectMapper objectMapper, LongSupplier nanoClock) {
+        AdmissionControlProperties.RateLimit rate = properties.rateLimit();
+        this.rateLimiter = new TokenBucketLimiter(
+                rate.requestsPerSecond(), rate.burst(), rate.maxClients(), nanoClock);
+        this.readLimiter = newLimiter(properties.reads(), nanoClock);
+        this.writeLimiter = newLimiter(properties.writes(), nanoClock);
+        this.readRetryAfterSeconds = Math.max(1, properties.reads().retryAfter().toSeconds());
+        this.writeRetryAfterSeconds = Math.max(1, properties.writes().retryAfter().toSeconds());
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long waitNanos = rateLimiter.tryAcquire(clientKey(request));
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Rate limit exceeded");
+            return;
+        }
+
+        boolean read = isRead(request);
+        AdaptiveConcurrencyLimiter limiter = read ? readLimiter : writeLimiter;
+        if (!limiter.tryAcquire()) {
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE,
+                    read ? readRetryAfterSeconds : writeRetryAfterSeconds, "Server is at capacity");
+            return;
+        }
+
+        long start = nanoClock.getAsLong();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                async = true;
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limiter, start));
+            }
+        } finally {
+            if (!async) {
+                limiter.release(nanoClock.getAsLong() - start);
+            }
+        }
+    }
+
+    AdaptiveConcurrencyLimiter readLimiter() {
+        return readLimiter;
+    }
+
+    AdaptiveConcurrencyLimiter writeLimiter() {
+        return writeLimiter;
+    }
+
+    private static AdaptiveConcurrencyLimiter newLimiter(AdmissionControlProperties.Concurrency concurrency,
+                                                         LongSupplier nanoClock) {
+        return new AdaptiveConcurrencyLimiter(
+                concurrency.initialLimit(),
+                concurrency.minLimit(),
+                concurrency.maxLimit(),
+                concurrency.targetLatency().toNanos(),
+                concurrency.backoffRatio(),
+                nanoClock);
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        long retryAfterSeconds, String message) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                request.getRequestURI());
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long start;
+
+        private ReleaseOnComplete(AdaptiveConcurrencyLimiter limiter, long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limiter.release(nanoClock.getAsLong() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.devaloi.springapi.filter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token bucket implemented as a generic cell rate algorithm.
+ *
+ * <p>Each client is a single {@link AtomicLong} holding its theoretical arrival time, so admitting a request
+ * is one CAS and never takes a lock. A client whose arrival time is in the past has a full bucket, which is
+ * what makes idle entries safe to evict.
+ *
+ * <p>At most {@code maxClients} clients get their own bucket. When the map is full, one request sweeps out idle
+ * entries, and only once per full refill interval, since an entry that was not idle at the last sweep is
+ * idle by then. New clients that still find the map full share a single overflow bucket, so rotating client
+ * keys costs neither memory nor a scan per request.
+ */
+public class TokenBucketLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow;
+    private final AtomicLong nextSweep;
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final int maxClients;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketLimiter(double requestsPerSecond, int burst, int maxClients, LongSupplier nanoClock) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("requestsPerSecond must be positive and burst at least 1");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / requestsPerSecond);
+        this.toleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.maxClients = maxClients;
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        this.overflow = new AtomicLong(now);
+        this.nextSweep = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token for {@code client}.
+     *
+     * @return {@code 0} when admitted, otherwise the nanoseconds until a token becomes available
+     */
+    public long tryAcquire(String client) {
+        long now = nanoClock.getAsLong();
+        AtomicLong arrival = buckets.get(client);
+        if (arrival == null) {
+            arrival = track(client, now);
+        }
+        while (true) {
+            long current = arrival.get();
+            long tat = current - now > 0 ? current : now;
+            long wait = tat - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, tat + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    int trackedClients() {
+        return buckets.size();
+    }
+
+    private AtomicLong track(String client, long now) {
+        if (buckets.size() >= maxClients) {
+            evictIdle(now);
+            if (buckets.size() >= maxClients) {
+                return overflow;
+            }
+        }
+        return buckets.computeIfAbsent(client, key -> new AtomicLong(now));
+    }
+
+    private void evictIdle(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + emissionIntervalNanos + toleranceNanos)) {
+            return;
+        }
+        buckets.values().removeIf(arrival -> arrival.get() - now <= 0);
+    }
+}
@@ -0,0 +1,179 @@
+package com.devaloi.springapi.journal;
+
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary layout shared by journal segments and snapshots.
+ *
+ * <p>A journal entry is framed as {@code [int length][int crc32c][payload]} so a torn write at the tail of a
+ * segment is detected and ignored on recovery. Enums are stored by ordinal, so new constants must only ever
+ * be appended. Task fields added later go after the existing ones and are read only when the task's length
+ * covers them, so files written before they existed still load.
+ */
+final class JournalCodec {
+
+    static final int FRAME_HEADER_BYTES = 8;
+
+    private static final int ENTRY_HEADER_BYTES = Long.BYTES + Byte.BYTES + Long.BYTES;
+    private static final int TASK_FIXED_BYTES = Long.BYTES + 2 * Byte.BYTES + Long.BYTES
+            + 2 * (Long.BYTES + Integer.BYTES) + 2 * Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final long NO_VALUE = Long.MIN_VALUE;
+    private static final int NULL_STRING = -1;
+
+    private JournalCodec() {
+    }
+
+    static int entrySize(TaskChangedEvent event) {
+        return FRAME_HEADER_BYTES + ENTRY_HEADER_BYTES + (event.task() != null ? taskSize(event.task()) : 0);
+    }
+
+    static void writeEntry(ByteBuffer buffer, long sequence, TaskChangedEvent event) {
+        int frame = buffer.position();
+        int payload = frame + FRAME_HEADER_BYTES;
+        buffer.position(payload);
+        buffer.putLong(sequence);
+        buffer.put((byte) event.type().ordinal());
+        buffer.putLong(event.taskId());
+        if (event.task() != null) {
+            writeTask(buffer, event.task());
+        }
+        int length = buffer.position() - payload;
+        buffer.putInt(frame, length);
+        buffer.putInt(frame + Integer.BYTES, crc(buffer, payload, length));
+    }
+
+    /**
+     * Decodes the entry at the buffer's position and advances past it.
+     *
+     * @return the entry, or {@code null} without moving the position when the remaining bytes do not hold a
+     *         complete, intact entry
+     */
+    static JournalEntry readEntry(ByteBuffer buffer) {
+        int frame = buffer.position();
+        if (buffer.remaining() < FRAME_HEADER_BYTES) {
+            return null;
+        }
+        int length = buffer.getInt(frame);
+        int checksum = buffer.getInt(frame + Integer.BYTES);
+        int payload = frame + FRAME_HEADER_BYTES;
+        if (length < ENTRY_HEADER_BYTES || length > buffer.limit() - payload
+                || crc(buffer, payload, length) != checksum) {
+            return null;
+        }
+        ByteBuffer body = buffer.slice(payload, length);
+        long sequence = body.getLong();
+        TaskChangedEvent.Type type = TaskChangedEvent.Type.values()[body.get()];
+        long taskId = body.getLong();
+        TaskResponse task = body.hasRemaining() ? readTask(body, length) : null;
+        buffer.position(payload + length);
+        return new JournalEntry(sequence, new TaskChangedEvent(type, taskId, task, null));
+    }
+
+    static int taskSize(TaskResponse task) {
+        return TASK_FIXED_BYTES + utf8Length(task.title()) + utf8Length(task.description())
+                + utf8Length(task.owner());
+    }
+
+    static void writeTask(ByteBuffer buffer, TaskResponse task) {
+        buffer.putLong(task.id());
+        buffer.put((byte) task.status().ordinal());
+        buffer.put((byte) task.priority().ordinal());
+        buffer.putLong(task.dueDate() != null ? task.dueDate().toEpochDay() : NO_VALUE);
+        putDateTime(buffer, task.createdAt());
+        putDateTime(buffer, task.updatedAt());
+        putString(buffer, task.title());
+        putString(buffer, task.description());
+        buffer.putLong(task.version() != null ? task.version() : 0);
+        putString(buffer, task.owner());
+    }
+
+    /**
+     * Decodes the task at the buffer's position, which must end at {@code end}.
+     */
+    static TaskResponse readTask(ByteBuffer buffer, int end) {
+        long id = buffer.getLong();
+        TaskStatus status = TaskStatus.values()[buffer.get()];
+        TaskPriority priority = TaskPriority.values()[buffer.get()];
+        long epochDay = buffer.getLong();
+        LocalDateTime createdAt = getDateTime(buffer);
+        LocalDateTime updatedAt = getDateTime(buffer);
+        String title = getString(buffer);
+        String description = getString(buffer);
+        long version = end - buffer.position() >= Long.BYTES ? buffer.getLong() : 0;
+        String owner = end - buffer.position() >= Integer.BYTES ? getString(buffer) : Task.SYSTEM_OWNER;
+        return new TaskResponse(id, title, description, status, priority,
+                epochDay != NO_VALUE ? LocalDate.ofEpochDay(epochDay) : null, createdAt, updatedAt, version, owner);
+    }
+
+    static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static void putDateTime(ByteBuffer buffer, LocalDateTime value) {
+        buffer.putLong(value != null ? value.toEpochSecond(ZoneOffset.UTC) : NO_VALUE);
+        buffer.putInt(value != null ? value.getNano() : 0);
+    }
+
+    private static LocalDateTime getDateTime(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return seconds != NO_VALUE ? LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC) : null;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int utf8Length(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // String.getBytes replaces an unpaired surrogate with '?'.
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,6 @@
+package com.devaloi.springapi.journal;
+
+import com.devaloi.springapi.event.TaskChangedEvent;
+
+record JournalEntry(long sequence, TaskChangedEvent change) {
+}
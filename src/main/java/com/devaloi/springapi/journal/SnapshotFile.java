@@ -0,0 +1,79 @@
+package com.devaloi.springapi.journal;
+
+import com.devaloi.springapi.dto.TaskResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Point-in-time copy of every task, written and read through a memory-mapped file.
+ *
+ * <p>Layout: {@code [int magic][int version][long sequence][int count][int crc32c]} followed by
+ * {@code count} records of {@code [int length][task]}. {@code sequence} is the last journal entry the
+ * snapshot includes. Files are written under a temporary name and atomically renamed into place.
+ */
+record SnapshotFile(long sequence, List<TaskResponse> tasks) {
+
+    private static final int MAGIC = 0x54534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + Long.BYTES + 2 * Integer.BYTES;
+    private static final int CRC_OFFSET = HEADER_BYTES - Integer.BYTES;
+
+    static void write(Path target, long sequence, Collection<TaskResponse> tasks) throws IOException {
+        long size = HEADER_BYTES;
+        for (TaskResponse task : tasks) {
+            size += Integer.BYTES + JournalCodec.taskSize(task);
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + tasks.size() + " tasks exceeds a single mapping");
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            map.putInt(MAGIC).putInt(VERSION).putLong(sequence).putInt(tasks.size()).putInt(0);
+            for (TaskResponse task : tasks) {
+                map.putInt(JournalCodec.taskSize(task));
+                JournalCodec.writeTask(map, task);
+            }
+            map.putInt(CRC_OFFSET, JournalCodec.crc(map, HEADER_BYTES, (int) size - HEADER_BYTES));
+            map.force();
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static SnapshotFile read(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + source + " has invalid size " + size);
+            }
+            ByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (map.getInt() != MAGIC || map.getInt() != VERSION) {
+                throw new IOException("Snapshot " + source + " has an unknown format");
+            }
+            long sequence = map.getLong();
+            int count = map.getInt();
+            int checksum = map.getInt();
+            if (JournalCodec.crc(map, HEADER_BYTES, (int) size - HEADER_BYTES) != checksum) {
+                throw new IOException("Snapshot " + source + " failed its checksum");
+            }
+            List<TaskResponse> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int length = map.getInt();
+                int next = map.position() + length;
+                tasks.add(JournalCodec.readTask(map, next));
+                map.position(next);
+            }
+            return new SnapshotFile(sequence, tasks);
+        }
+    }
+}
@@ -0,0 +1,590 @@
+package com.devaloi.springapi.journal;
+
+import com.devaloi.springapi.config.TaskJournalProperties;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import com.devaloi.springapi.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Append-only journal of committed task changes, enabled with {@code tasks.journal.enabled=true}.
+ *
+ * <p>Changes are queued after commit and a single writer thread appends whatever has accumulated with one
+ * {@link FileChannel#write} and one {@link FileChannel#force}. The thread that committed a change waits until
+ * its entries are forced, once per transaction and at most {@code sync-timeout}, so a mutation is on disk
+ * before its request returns and concurrent writers share one fsync (group commit). A write that fails is
+ * kept and retried rather than dropped; {@link TaskJournalHealthIndicator} reports the journal down, and the
+ * instance not ready, until a retry succeeds. Segments are named after their first sequence number and rolled at {@code segment-size}.
+ * Every {@code snapshot-interval} the latest snapshot and the journal after it are folded into a new
+ * memory-mapped snapshot and the segments it covers are deleted.
+ *
+ * <p>When the directory is empty on first start, the current table contents are written as snapshot
+ * {@code 0}, so {@link #restore()} always returns the full task set.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.journal.enabled", havingValue = "true")
+public class TaskJournal implements InitializingBean, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskJournal.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int MAX_BATCH = 4096;
+    private static final int SEED_PAGE_SIZE = 1000;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long RETRY_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final TaskJournalProperties properties;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ThreadLocal<CompletableFuture<Long>> awaitingCommit = new ThreadLocal<>();
+    private final Object writeLock = new Object();
+    private final Object snapshotLock = new Object();
+
+    private final Counter appendedCounter;
+    private final Counter failedCounter;
+    private final Counter syncTimeoutCounter;
+    private final Timer syncTimer;
+    private final Timer snapshotTimer;
+
+    private FileChannel segment;
+    private long segmentSize;
+    private long nextSequence;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private volatile long durableSequence;
+    private volatile List<Pending> retry = List.of();
+    private volatile IOException lastFailure;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+    private ScheduledExecutorService snapshots;
+
+    public TaskJournal(TaskJournalProperties properties,
+                       TaskRepository taskRepository,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = properties.directory().toAbsolutePath();
+        this.appendedCounter = meterRegistry.counter("tasks.journal.appended");
+        this.failedCounter = meterRegistry.counter("tasks.journal.failed");
+        this.syncTimeoutCounter = meterRegistry.counter("tasks.journal.sync.timeouts");
+        this.syncTimer = Timer.builder("tasks.journal.sync")
+                .description("Latency of one group-commit write and fsync")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.snapshotTimer = meterRegistry.timer("tasks.journal.snapshot");
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = segments();
+        Path snapshot = latestSnapshot();
+        if (segments.isEmpty() && snapshot == null) {
+            seedFromDatabase();
+            snapshot = latestSnapshot();
+        }
+        long last = snapshot != null ? sequenceOf(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) : 0;
+        if (!segments.isEmpty()) {
+            Path tail = segments.get(segments.size() - 1);
+            long first = sequenceOf(tail, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+            last = Math.max(last, Math.max(first - 1, recover(tail)));
+        }
+        durableSequence = last;
+        nextSequence = last + 1;
+        if (segment == null) {
+            openSegment(nextSequence);
+        }
+    }
+
+    /**
+     * Registers, once per transaction, a wait for the transaction's entries to become durable. It is ordered
+     * after {@link #onTaskChanged}, so all of the transaction's changes are queued before the wait starts.
+     */
+    @EventListener
+    public void awaitDurableAfterCommit(TaskChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TaskJournal.this);
+                CompletableFuture<Long> durable = awaitingCommit.get();
+                awaitingCommit.remove();
+                if (durable != null) {
+                    await(durable);
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public void onTaskChanged(TaskChangedEvent event) {
+        CompletableFuture<Long> durable = append(event);
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            // Entries are written in queue order, so the transaction's last entry covers the earlier ones.
+            awaitingCommit.set(durable);
+        } else {
+            await(durable);
+        }
+    }
+
+    /**
+     * Queues a change.
+     *
+     * @return completes with the entry's sequence number once it has been forced to disk
+     */
+    public CompletableFuture<Long> append(TaskChangedEvent event) {
+        CompletableFuture<Long> durable = new CompletableFuture<>();
+        pending.incrementAndGet();
+        queue.offer(new Pending(event, durable));
+        Thread current = writer;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+        return durable;
+    }
+
+    /**
+     * Writes and syncs everything appended so far on the calling thread.
+     *
+     * @throws UncheckedIOException if a write fails; the entries stay queued for the next attempt
+     */
+    public void flush() {
+        while (hasPending()) {
+            if (!writeBatch()) {
+                throw new UncheckedIOException("Journal write failed", lastFailure);
+            }
+        }
+    }
+
+    public long durableSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * Entries queued or being retried that are not durable yet.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * The error of the last write if it failed, or {@code null} once a write has succeeded again.
+     */
+    public IOException lastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Current task set rebuilt from the latest snapshot plus the journal entries after it.
+     */
+    public List<TaskResponse> restore() {
+        synchronized (snapshotLock) {
+            return new ArrayList<>(replay(durableSequence).values());
+        }
+    }
+
+    /**
+     * Folds the journal into a new snapshot and deletes the segments it fully covers.
+     */
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            long start = System.nanoTime();
+            long upTo = durableSequence;
+            try {
+                Path latest = latestSnapshot();
+                if (latest != null && sequenceOf(latest, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) == upTo) {
+                    return;
+                }
+                Map<Long, TaskResponse> tasks = replay(upTo);
+                Path target = snapshotPath(upTo);
+                SnapshotFile.write(target, upTo, tasks.values());
+                deleteSnapshotsBefore(target);
+                deleteSegmentsCoveredBy(upTo);
+                log.info("Wrote journal snapshot of {} tasks at sequence {}", tasks.size(), upTo);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Journal snapshot failed", ex);
+            } finally {
+                snapshotTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Returns {@code false} when the write failed; the batch is then kept and written first on the next call.
+     */
+    private boolean writeBatch() {
+        synchronized (writeLock) {
+            List<Pending> batch = new ArrayList<>(retry);
+            Pending next;
+            while (batch.size() < MAX_BATCH && (next = queue.poll()) != null) {
+                batch.add(next);
+            }
+            if (batch.isEmpty()) {
+                return true;
+            }
+            int bytes = 0;
+            for (Pending entry : batch) {
+                bytes += JournalCodec.entrySize(entry.event());
+            }
+            long start = System.nanoTime();
+            try {
+                if (segmentSize >= properties.segmentSize().toBytes()) {
+                    segment.close();
+                    openSegment(nextSequence);
+                }
+                ByteBuffer out = buffer(bytes);
+                long first = nextSequence;
+                for (Pending entry : batch) {
+                    JournalCodec.writeEntry(out, first++, entry.event());
+                }
+                out.flip();
+                while (out.hasRemaining()) {
+                    segment.write(out);
+                }
+                segment.force(false);
+                segmentSize += bytes;
+                long sequence = nextSequence;
+                nextSequence = first;
+                durableSequence = first - 1;
+                retry = List.of();
+                lastFailure = null;
+                pending.addAndGet(-batch.size());
+                appendedCounter.increment(batch.size());
+                for (Pending entry : batch) {
+                    entry.durable().complete(sequence++);
+                }
+                return true;
+            } catch (IOException ex) {
+                failedCounter.increment(batch.size());
+                if (lastFailure == null) {
+                    log.error("Journal write of {} entries failed, retrying until it succeeds", batch.size(), ex);
+                }
+                truncateToLastSync();
+                retry = batch;
+                lastFailure = ex;
+                return false;
+            } finally {
+                syncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private boolean hasPending() {
+        return !retry.isEmpty() || !queue.isEmpty();
+    }
+
+    private void await(CompletableFuture<Long> durable) {
+        if (writer == null) {
+            flush();
+            return;
+        }
+        try {
+            durable.get(properties.syncTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            // The entry stays queued and is written once the journal catches up.
+            syncTimeoutCounter.increment();
+            log.warn("Journal entry not durable after {}, returning without it", properties.syncTimeout());
+        }
+    }
+
+    private ByteBuffer buffer(int bytes) {
+        if (buffer.capacity() < bytes) {
+            buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(bytes - 1) << 1);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    private void truncateToLastSync() {
+        try {
+            segment.truncate(segmentSize);
+            segment.position(segmentSize);
+        } catch (IOException ex) {
+            log.error("Could not truncate journal segment after a failed write", ex);
+        }
+    }
+
+    private Map<Long, TaskResponse> replay(long upTo) {
+        Map<Long, TaskResponse> tasks = new HashMap<>();
+        try {
+            Path snapshot = latestSnapshot();
+            long from = 0;
+            if (snapshot != null) {
+                SnapshotFile file = SnapshotFile.read(snapshot);
+                file.tasks().forEach(task -> tasks.put(task.id(), task));
+                from = file.sequence();
+            }
+            List<Path> segments = segments();
+            for (int i = 0; i < segments.size(); i++) {
+                if (i + 1 < segments.size()
+                        && sequenceOf(segments.get(i + 1), SEGMENT_PREFIX, SEGMENT_SUFFIX) <= from + 1) {
+                    continue;
+                }
+                try (FileChannel channel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                    ByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    JournalEntry entry;
+                    while ((entry = JournalCodec.readEntry(map)) != null && entry.sequence() <= upTo) {
+                        if (entry.sequence() > from) {
+                            apply(tasks, entry.change());
+                        }
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Journal replay failed", ex);
+        }
+        return tasks;
+    }
+
+    private static void apply(Map<Long, TaskResponse> tasks, TaskChangedEvent change) {
+        if (change.type() == TaskChangedEvent.Type.DELETED) {
+            tasks.remove(change.taskId());
+        } else {
+            tasks.put(change.taskId(), change.task());
+        }
+    }
+
+    /**
+     * Reopens the last segment for appending, cutting off a torn entry left by a crash.
+     *
+     * @return the last intact sequence number in the segment, or {@code 0} if it is empty
+     */
+    private long recover(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        long last = 0;
+        JournalEntry entry;
+        while ((entry = JournalCodec.readEntry(map)) != null) {
+            last = entry.sequence();
+        }
+        if (map.position() < channel.size()) {
+            log.warn("Truncating {} torn bytes from {}", channel.size() - map.position(), path.getFileName());
+            channel.truncate(map.position());
+        }
+        channel.position(map.position());
+        segment = channel;
+        segmentSize = map.position();
+        return last;
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        segment = FileChannel.open(directory.resolve(name(SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentSize = segment.size();
+    }
+
+    private void seedFromDatabase() throws IOException {
+        List<TaskResponse> tasks = new ArrayList<>();
+        int page = 0;
+        List<Task> chunk;
+        do {
+            PageRequest request = PageRequest.of(page++, SEED_PAGE_SIZE, Sort.by("id"));
+            chunk = transactionTemplate.execute(status -> taskRepository.findAll(request).getContent());
+            chunk.forEach(task -> tasks.add(TaskResponse.from(task)));
+        } while (chunk.size() == SEED_PAGE_SIZE);
+        SnapshotFile.write(snapshotPath(0), 0, tasks);
+        log.info("Seeded task journal with {} existing tasks", tasks.size());
+    }
+
+    private void deleteSnapshotsBefore(Path current) throws IOException {
+        for (Path snapshot : list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (!snapshot.equals(current)) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+    }
+
+    private void deleteSegmentsCoveredBy(long sequence) throws IOException {
+        List<Path> segments = segments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (sequenceOf(segments.get(i + 1), SEGMENT_PREFIX, SEGMENT_SUFFIX) <= sequence + 1) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        return list(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+    }
+
+    private Path latestSnapshot() throws IOException {
+        List<Path> snapshots = list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        return snapshots.isEmpty() ? null : snapshots.get(snapshots.size() - 1);
+    }
+
+    private Path snapshotPath(long sequence) {
+        return directory.resolve(name(SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+    }
+
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(suffix);
+            }).sorted().toList();
+        }
+    }
+
+    // Zero-padded so lexical order is sequence order.
+    private static String name(String prefix, long sequence, String suffix) {
+        return prefix + String.format(Locale.ROOT, "%020d", sequence) + suffix;
+    }
+
+    private static long sequenceOf(Path path, String prefix, String suffix) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private void runWriter() {
+        while (running || hasPending()) {
+            if (!hasPending()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            } else if (!writeBatch()) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(this, RETRY_PARK_NANOS);
+            }
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException ex) {
+            log.warn("Scheduled journal snapshot failed", ex);
+        }
+    }
+
+    @Override
+    public void start() {
+        synchronized (writeLock) {
+            if (!segment.isOpen()) {
+                try {
+                    openSegment(nextSequence);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException("Could not reopen the task journal", ex);
+                }
+            }
+        }
+        running = true;
+        Thread thread = new Thread(this::runWriter, "task-journal-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+        snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread snapshotThread = new Thread(runnable, "task-journal-snapshot");
+            snapshotThread.setDaemon(true);
+            return snapshotThread;
+        });
+        long millis = properties.snapshotInterval().toMillis();
+        snapshots.scheduleWithFixedDelay(this::snapshotQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (snapshots != null) {
+            snapshots.shutdownNow();
+            snapshots = null;
+        }
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+        try {
+            flush();
+        } catch (UncheckedIOException ex) {
+            log.error("Stopping with {} journal entries not written", pending.get(), ex);
+        }
+        synchronized (writeLock) {
+            try {
+                segment.close();
+            } catch (IOException ex) {
+                log.warn("Could not close journal segment", ex);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Outlive the ingestion writer so its final batch is journaled too.
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    private record Pending(TaskChangedEvent event, CompletableFuture<Long> durable) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.devaloi.springapi.journal;
+
+import java.io.IOException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the {@link TaskJournal} down while its writes are failing, which also takes the instance out of the
+ * readiness group. Always registered, so the readiness group can name it whether or not the journal is on.
+ */
+@Component
+public class TaskJournalHealthIndicator implements HealthIndicator {
+
+    private final ObjectProvider<TaskJournal> journal;
+
+    public TaskJournalHealthIndicator(ObjectProvider<TaskJournal> journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public Health health() {
+        TaskJournal taskJournal = journal.getIfAvailable();
+        if (taskJournal == null) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        IOException failure = taskJournal.lastFailure();
+        Health.Builder builder = failure != null ? Health.down(failure) : Health.up();
+        return builder
+                .withDetail("durableSequence", taskJournal.durableSequence())
+                .withDetail("pending", taskJournal.pending())
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.devaloi.springapi.repository;
+
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.entity.ArchivedTask;
+import java.time.LocalDate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long>,
+        JpaSpecificationExecutor<ArchivedTask> {
+
+    default Page<ArchivedTask> findFiltered(TaskFilter filter, LocalDate today, Pageable pageable) {
+        return findAll((root, query, cb) -> cb.and(TaskPredicates.of(cb, root, filter, today)), pageable);
+    }
+}
@@ -0,0 +1,278 @@
+package com.devaloi.springapi.repository;
+
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking access to the {@code tasks} table over R2DBC, used by the v2 API.
+ *
+ * <p>Ids come from the same sequence as JPA and {@link TaskBatchRepository}: each sequence value {@code v}
+ * owns the block {@code [v, v + Task.ID_ALLOCATION_SIZE)}, handed out here without further round trips.
+ * Lists are streamed as the subscriber requests rows, never fetching more than {@code prefetch} ahead.
+ *
+ * <p>r2dbc-h2 runs the embedded engine synchronously on whichever thread subscribes, so every operation is
+ * subscribed on Reactor's bounded elastic scheduler. The caller's thread is released, but each statement still
+ * occupies a worker while it runs.
+ */
+public class ReactiveTaskRepository implements DisposableBean {
+
+    private static final String NEXT_ID_BLOCK_SQL = "SELECT NEXT VALUE FOR " + Task.ID_SEQUENCE;
+
+    private static final String SELECT_SQL = "SELECT id, title, description, CAST(status AS VARCHAR) AS status, "
+            + "CAST(priority AS VARCHAR) AS priority, due_date, created_at, updated_at, version, owner FROM tasks";
+
+    // r2dbc-h2 binds strings as CLOBs, which H2 will not convert to ENUM columns implicitly.
+    private static final String STATUS = "CAST(:status AS VARCHAR)";
+    private static final String PRIORITY = "CAST(:priority AS VARCHAR)";
+
+    private static final String INSERT_SQL = "INSERT INTO tasks "
+            + "(id, title, description, status, priority, due_date, created_at, updated_at, version, owner) "
+            + "VALUES (:id, :title, :description, " + STATUS + ", " + PRIORITY + ", :dueDate, :createdAt, :updatedAt, "
+            + ":version, :owner)";
+
+    private static final String UPDATE_SQL = "UPDATE tasks SET title = :title, description = :description, "
+            + "status = " + STATUS + ", priority = " + PRIORITY + ", due_date = :dueDate, updated_at = :updatedAt, "
+            + "version = version + 1 WHERE id = :id AND version = :version";
+
+    private final ConnectionFactory connectionFactory;
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final int prefetch;
+    private final AtomicReference<IdBlock> idBlock = new AtomicReference<>(IdBlock.EMPTY);
+
+    public ReactiveTaskRepository(ConnectionFactory connectionFactory, int prefetch) {
+        this.connectionFactory = connectionFactory;
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * Runs {@code work} in one R2DBC transaction, committed when it completes and rolled back on error.
+     */
+    public <T> Mono<T> inTransaction(Mono<T> work) {
+        return work.as(transactionalOperator::transactional).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<Task> findById(long id) {
+        return databaseClient.sql(SELECT_SQL + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveTaskRepository::toTask)
+                .one()
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Tasks matching {@code filter} in the order and page of {@code pageable}, with the same semantics as
+     * {@link TaskRepositoryCustom#findFiltered}.
+     */
+    public Flux<Task> findFiltered(TaskFilter filter, LocalDate today, Pageable pageable) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(SELECT_SQL).append(where(filter, today, parameters))
+                .append(orderBy(pageable.getSort()));
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT :limit OFFSET :offset");
+            parameters.put("limit", pageable.getPageSize());
+            parameters.put("offset", pageable.getOffset());
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map(ReactiveTaskRepository::toTask).all()
+                .limitRate(prefetch)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Inserts {@code task} under a newly allocated id, which is set on it.
+     */
+    public Mono<Task> insert(Task task) {
+        return nextId().flatMap(id -> {
+            task.setId(id);
+            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT_SQL)
+                    .bind("id", id)
+                    .bind("createdAt", task.getCreatedAt())
+                    .bind("version", task.getVersion())
+                    .bind("owner", task.getOwner());
+            return bindColumns(spec, task).fetch().rowsUpdated().thenReturn(task);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Writes every mutable column of {@code task} if the row is still at the task's version, and advances both
+     * versions. Emits {@code false} when the row has been deleted or changed since the task was read.
+     */
+    public Mono<Boolean> update(Task task) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(UPDATE_SQL)
+                .bind("id", task.getId())
+                .bind("version", task.getVersion());
+        return bindColumns(spec, task).fetch().rowsUpdated().map(rows -> {
+            if (rows == 0) {
+                return false;
+            }
+            task.setVersion(task.getVersion() + 1);
+            return true;
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<Boolean> deleteById(long id) {
+        return databaseClient.sql("DELETE FROM tasks WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionFactory instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    private Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            long id = idBlock.get().next();
+            if (id > 0) {
+                return Mono.just(id);
+            }
+            return databaseClient.sql(NEXT_ID_BLOCK_SQL)
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(start -> {
+                        idBlock.set(new IdBlock(start + 1, start + Task.ID_ALLOCATION_SIZE));
+                        return start;
+                    });
+        });
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindColumns(DatabaseClient.GenericExecuteSpec spec, Task task) {
+        spec = spec.bind("title", task.getTitle())
+                .bind("status", task.getStatus().name())
+                .bind("priority", task.getPriority().name())
+                .bind("updatedAt", task.getUpdatedAt());
+        spec = task.getDescription() != null
+                ? spec.bind("description", task.getDescription())
+                : spec.bindNull("description", String.class);
+        return task.getDueDate() != null
+                ? spec.bind("dueDate", task.getDueDate())
+                : spec.bindNull("dueDate", LocalDate.class);
+    }
+
+    private static String where(TaskFilter filter, LocalDate today, Map<String, Object> parameters) {
+        StringJoiner conditions = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        if (filter.owner() != null) {
+            conditions.add("owner = :owner");
+            parameters.put("owner", filter.owner());
+        }
+        if (filter.status() != null) {
+            conditions.add("status = " + STATUS);
+            parameters.put("status", filter.status().name());
+        }
+        if (filter.priority() != null) {
+            conditions.add("priority = " + PRIORITY);
+            parameters.put("priority", filter.priority().name());
+        }
+        if (filter.search() != null) {
+            conditions.add("LOWER(title) LIKE :search");
+            parameters.put("search", "%" + filter.search().toLowerCase(Locale.ROOT) + "%");
+        }
+        if (filter.dueFrom() != null) {
+            conditions.add("due_date >= :dueFrom");
+            parameters.put("dueFrom", filter.dueFrom());
+        }
+        if (filter.dueTo() != null) {
+            conditions.add("due_date <= :dueTo");
+            parameters.put("dueTo", filter.dueTo());
+        }
+        if (filter.overdue() != null) {
+            conditions.add(filter.overdue()
+                    ? "(due_date < :today AND status <> 'DONE')"
+                    : "(due_date IS NULL OR due_date >= :today OR status = 'DONE')");
+            parameters.put("today", today);
+        }
+        return conditions.toString();
+    }
+
+    private static String orderBy(Sort sort) {
+        StringJoiner orders = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : sort) {
+            String column = column(TaskField.fromProperty(order.getProperty()));
+            orders.add((order.isIgnoreCase() ? "LOWER(" + column + ")" : column)
+                    + (order.isDescending() ? " DESC" : " ASC"));
+        }
+        // Ties on the sort key would otherwise page nondeterministically.
+        return orders.add("id").toString();
+    }
+
+    private static String column(TaskField field) {
+        return switch (field) {
+            case DUE_DATE -> "due_date";
+            case CREATED_AT -> "created_at";
+            case UPDATED_AT -> "updated_at";
+            default -> field.property();
+        };
+    }
+
+    private static Task toTask(Readable row) {
+        Task task = new Task();
+        task.setId(row.get("id", Long.class));
+        task.setTitle(row.get("title", String.class));
+        task.setDescription(row.get("description", String.class));
+        task.setStatus(TaskStatus.valueOf(row.get("status", String.class)));
+        task.setPriority(TaskPriority.valueOf(row.get("priority", String.class)));
+        task.setDueDate(row.get("due_date", LocalDate.class));
+        task.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        task.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        task.setVersion(row.get("version", Long.class));
+        task.setOwner(row.get("owner", String.class));
+        return task;
+    }
+
+    /**
+     * The unused part of a reserved id block; racing refills each reserve their own block and the loser's
+     * remainder is skipped, like ids lost to a restart.
+     */
+    private static final class IdBlock {
+
+        static final IdBlock EMPTY = new IdBlock(0, 0);
+
+        private final AtomicLong next;
+        private final long end;
+
+        IdBlock(long next, long end) {
+            this.next = new AtomicLong(next);
+            this.end = end;
+        }
+
+        long next() {
+            long id = next.getAndIncrement();
+            return id < end ? id : 0;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.devaloi.springapi.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Plain JDBC moves of completed tasks from {@code tasks} to {@code tasks_archive}.
+ *
+ * <p>Candidates are found by keyset over the primary key so every batch is a bounded index range, and each
+ * batch is copied and deleted with set-based statements instead of entity by entity.
+ */
+@Repository
+public class TaskArchiveRepository {
+
+    private static final String COLUMNS =
+            "id, title, description, status, priority, due_date, created_at, updated_at, owner";
+
+    private static final String CANDIDATES_SQL = "SELECT id FROM tasks "
+            + "WHERE id > :after AND status = 'DONE' AND updated_at < :cutoff ORDER BY id LIMIT :limit";
+
+    private static final String LOCK_SQL = "SELECT id FROM tasks "
+            + "WHERE id IN (:ids) AND status = 'DONE' AND updated_at < :cutoff FOR UPDATE";
+
+    private static final String COPY_SQL = "INSERT INTO tasks_archive (" + COLUMNS + ", archived_at) "
+            + "SELECT " + COLUMNS + ", :archivedAt FROM tasks WHERE id IN (:ids)";
+
+    private static final String DELETE_SQL = "DELETE FROM tasks WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TaskArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Ids after {@code afterId}, in id order, of tasks completed and last updated before {@code cutoff}.
+     */
+    public List<Long> findArchivable(LocalDateTime cutoff, long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("after", afterId)
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForList(CANDIDATES_SQL, params, Long.class);
+    }
+
+    /**
+     * Moves the given tasks that still qualify and returns the ids actually moved. Must run in a transaction:
+     * the rows are locked first so a task reopened concurrently is either moved before or left untouched.
+     */
+    public List<Long> archive(List<Long> ids, LocalDateTime cutoff, LocalDateTime archivedAt) {
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        List<Long> locked = jdbcTemplate.queryForList(LOCK_SQL,
+                Map.of("ids", ids, "cutoff", Timestamp.valueOf(cutoff)), Long.class);
+        if (locked.isEmpty()) {
+            return locked;
+        }
+        jdbcTemplate.update(COPY_SQL, Map.of("ids", locked, "archivedAt", Timestamp.valueOf(archivedAt)));
+        jdbcTemplate.update(DELETE_SQL, Map.of("ids", locked));
+        return locked;
+    }
+}
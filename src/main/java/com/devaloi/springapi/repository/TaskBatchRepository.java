@@ -0,0 +1,56 @@
+package com.devaloi.springapi.repository;
+
+import com.devaloi.springapi.entity.Task;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Plain JDBC access for bulk writes that bypass the persistence context.
+ *
+ * <p>Ids are reserved from the same sequence Hibernate uses for {@link Task}. Hibernate is configured with
+ * the {@code pooled-lo} optimizer, so every sequence value {@code v} owns the block
+ * {@code [v, v + Task.ID_ALLOCATION_SIZE)} no matter which side fetched it.
+ */
+@Repository
+public class TaskBatchRepository implements TaskBatchWriter {
+
+    private static final String NEXT_ID_BLOCK_SQL = "SELECT NEXT VALUE FOR " + Task.ID_SEQUENCE;
+
+    private static final String INSERT_SQL = "INSERT INTO tasks "
+            + "(id, title, description, status, priority, due_date, created_at, updated_at, version, owner) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long nextIdBlock() {
+        Long value = jdbcTemplate.queryForObject(NEXT_ID_BLOCK_SQL, Long.class);
+        if (value == null) {
+            throw new IllegalStateException("Sequence " + Task.ID_SEQUENCE + " returned no value");
+        }
+        return value;
+    }
+
+    @Override
+    public void insertAll(List<Task> tasks) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, tasks, tasks.size(), (ps, task) -> {
+            ps.setLong(1, task.getId());
+            ps.setString(2, task.getTitle());
+            ps.setString(3, task.getDescription());
+            ps.setString(4, task.getStatus().name());
+            ps.setString(5, task.getPriority().name());
+            ps.setDate(6, task.getDueDate() != null ? Date.valueOf(task.getDueDate()) : null);
+            ps.setTimestamp(7, Timestamp.valueOf(task.getCreatedAt()));
+            ps.setTimestamp(8, Timestamp.valueOf(task.getUpdatedAt()));
+            ps.setLong(9, task.getVersion());
+            ps.setString(10, task.getOwner());
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.devaloi.springapi.repository;
+
+import com.devaloi.springapi.entity.Task;
+import java.util.List;
+
+/**
+ * Destination for tasks created outside the persistence context, such as write-behind ingestion.
+ */
+public interface TaskBatchWriter {
+
+    /**
+     * Reserves ids {@code [v, v + Task.ID_ALLOCATION_SIZE)} and returns {@code v}.
+     */
+    long nextIdBlock();
+
+    void insertAll(List<Task> tasks);
+}
@@ -0,0 +1,59 @@
+package com.devaloi.springapi.repository;
+
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.entity.TaskStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@link TaskFilter} as Criteria predicates, shared by the live and archive tables which use the same
+ * attribute names.
+ */
+final class TaskPredicates {
+
+    private TaskPredicates() {
+    }
+
+    /**
+     * Only the criteria actually present become predicates, so the planner sees plain range and equality
+     * conditions it can serve from {@code idx_tasks_due_date_status} or
+     * {@code idx_tasks_owner_status_created_at} instead of {@code :param IS NULL} guards.
+     */
+    static Predicate[] of(CriteriaBuilder cb, Root<?> root, TaskFilter filter, LocalDate today) {
+        List<Predicate> predicates = new ArrayList<>(7);
+        Path<TaskStatus> status = root.get("status");
+        Path<LocalDate> dueDate = root.get("dueDate");
+        if (filter.owner() != null) {
+            predicates.add(cb.equal(root.get("owner"), filter.owner()));
+        }
+        if (filter.status() != null) {
+            predicates.add(cb.equal(status, filter.status()));
+        }
+        if (filter.priority() != null) {
+            predicates.add(cb.equal(root.get("priority"), filter.priority()));
+        }
+        if (filter.search() != null) {
+            predicates.add(cb.like(cb.lower(root.get("title")),
+                    "%" + filter.search().toLowerCase(Locale.ROOT) + "%"));
+        }
+        if (filter.dueFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(dueDate, filter.dueFrom()));
+        }
+        if (filter.dueTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(dueDate, filter.dueTo()));
+        }
+        if (Boolean.TRUE.equals(filter.overdue())) {
+            predicates.add(cb.and(cb.lessThan(dueDate, today), cb.notEqual(status, TaskStatus.DONE)));
+        } else if (Boolean.FALSE.equals(filter.overdue())) {
+            predicates.add(cb.or(cb.isNull(dueDate), cb.greaterThanOrEqualTo(dueDate, today),
+                    cb.equal(status, TaskStatus.DONE)));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
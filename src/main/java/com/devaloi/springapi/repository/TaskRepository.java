@@ -3,6 +3,8 @@ package com.devaloi.springapi.repository;
 import com.devaloi.springapi.entity.Task;
 import com.devaloi.springapi.entity.TaskPriority;
 import com.devaloi.springapi.entity.TaskStatus;
+import java.time.LocalDate;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,7 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
     Page<Task> findByStatus(TaskStatus status, Pageable pageable);
 
@@ -26,4 +28,35 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
             @Param("priority") TaskPriority priority,
             @Param("search") String search,
             Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.dueDate AS dueDate FROM Task t " +
+            "WHERE t.dueDate IS NOT NULL AND t.status <> com.devaloi.springapi.entity.TaskStatus.DONE")
+    List<OpenDueDate> findOpenDueDates();
+
+    @Query("SELECT t.status AS status, COUNT(t) AS count FROM Task t WHERE t.owner = :owner GROUP BY t.status")
+    List<StatusCount> countByStatusForOwner(@Param("owner") String owner);
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.owner = :owner AND t.dueDate < :today " +
+            "AND t.status <> com.devaloi.springapi.entity.TaskStatus.DONE")
+    long countOverdueForOwner(@Param("owner") String owner, @Param("today") LocalDate today);
+
+    /**
+     * Id and due date of a task that is not done yet.
+     */
+    interface OpenDueDate {
+
+        Long getId();
+
+        LocalDate getDueDate();
+    }
+
+    /**
+     * Number of tasks in one status.
+     */
+    interface StatusCount {
+
+        TaskStatus getStatus();
+
+        long getCount();
+    }
 }
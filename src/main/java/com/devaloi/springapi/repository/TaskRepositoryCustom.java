@@ -0,0 +1,23 @@
+package com.devaloi.springapi.repository;
+
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.entity.Task;
+import jakarta.persistence.Tuple;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface TaskRepositoryCustom {
+
+    Optional<Tuple> findProjectedById(Long id, Set<TaskField> fields);
+
+    /**
+     * Tasks matching {@code filter}, with {@code today} deciding which tasks are overdue.
+     */
+    Page<Task> findFiltered(TaskFilter filter, LocalDate today, Pageable pageable);
+
+    Page<Tuple> findProjected(TaskFilter filter, LocalDate today, Set<TaskField> fields, Pageable pageable);
+}
@@ -0,0 +1,89 @@
+package com.devaloi.springapi.repository;
+
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Criteria-built task listings. Column projections serve sparse fieldsets: only the requested columns are
+ * selected, so wide columns such as {@code description} are never read from the table unless asked for.
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Tuple> findProjectedById(Long id, Set<TaskField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        query.multiselect(selections(root, fields)).where(cb.equal(root.get("id"), id));
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    @Override
+    public Page<Task> findFiltered(TaskFilter filter, LocalDate today, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(root)
+                .where(TaskPredicates.of(cb, root, filter, today))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        List<Task> content = page(entityManager.createQuery(query), pageable).getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filter, today));
+    }
+
+    @Override
+    public Page<Tuple> findProjected(TaskFilter filter, LocalDate today, Set<TaskField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        query.multiselect(selections(root, fields))
+                .where(TaskPredicates.of(cb, root, filter, today))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        List<Tuple> content = page(entityManager.createQuery(query), pageable).getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filter, today));
+    }
+
+    private long count(TaskFilter filter, LocalDate today) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.count(root)).where(TaskPredicates.of(cb, root, filter, today));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static <T> TypedQuery<T> page(TypedQuery<T> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
+
+    private static List<Selection<?>> selections(Root<Task> root, Set<TaskField> fields) {
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (TaskField field : fields) {
+            selections.add(root.get(field.property()).alias(field.property()));
+        }
+        return selections;
+    }
+}
@@ -0,0 +1,36 @@
+package com.devaloi.springapi.service;
+
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.exception.TaskNotFoundException;
+import com.devaloi.springapi.repository.ArchivedTaskRepository;
+import java.time.LocalDate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Read access to {@code tasks_archive}. Callers only reach it when a request explicitly asks for archived
+ * tasks, so the hot path never touches the archive table.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ArchivedTaskService {
+
+    private final ArchivedTaskRepository archivedTaskRepository;
+
+    public ArchivedTaskService(ArchivedTaskRepository archivedTaskRepository) {
+        this.archivedTaskRepository = archivedTaskRepository;
+    }
+
+    public TaskResponse getById(Long id) {
+        return archivedTaskRepository.findById(id)
+                .map(TaskResponse::from)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+    }
+
+    public Page<TaskResponse> getAll(TaskFilter filter, Pageable pageable) {
+        return archivedTaskRepository.findFiltered(filter, LocalDate.now(), pageable).map(TaskResponse::from);
+    }
+}
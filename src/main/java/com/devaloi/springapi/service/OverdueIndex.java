@@ -0,0 +1,247 @@
+package com.devaloi.springapi.service;
+
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import com.devaloi.springapi.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Overdue tasks kept in memory so overdue listings and counts never scan the table.
+ *
+ * <p>Every open task with a due date sits in exactly one of two sets ordered by {@code (dueDate, id)}:
+ * {@code overdue} when the date is before today, otherwise {@code upcoming}, which acts as the priority
+ * queue for the next rollover. Writes arrive as {@link TaskChangedEvent}s after commit. At midnight, and
+ * lazily on any read that notices the date changed, the head of {@code upcoming} is moved over until it
+ * reaches today, so a rollover costs only the tasks that actually became overdue.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.engine.type", havingValue = "jpa", matchIfMissing = true)
+public class OverdueIndex implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueIndex.class);
+
+    private final Map<Long, LocalDate> open = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Key> overdue = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<Key> upcoming = new ConcurrentSkipListSet<>();
+    private final AtomicInteger overdueCount = new AtomicInteger();
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    private volatile LocalDate today;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public OverdueIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry) {
+        this(taskRepository, transactionManager, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    OverdueIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                 MeterRegistry meterRegistry, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.today = LocalDate.now(clock);
+        Gauge.builder("tasks.overdue", overdueCount, AtomicInteger::get)
+                .description("Open tasks past their due date")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuilds the index from the open tasks in the database, read from the primary.
+     */
+    public synchronized void load() {
+        open.clear();
+        overdue.clear();
+        upcoming.clear();
+        overdueCount.set(0);
+        today = LocalDate.now(clock);
+        List<TaskRepository.OpenDueDate> rows = transactionTemplate.execute(
+                status -> taskRepository.findOpenDueDates());
+        for (TaskRepository.OpenDueDate row : rows) {
+            track(row.getId(), row.getDueDate());
+        }
+        log.info("Loaded {} open tasks with a due date, {} overdue", open.size(), overdueCount.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskResponse task = event.task();
+        if (task == null || task.dueDate() == null || task.status() == TaskStatus.DONE) {
+            untrack(event.taskId());
+        } else {
+            track(event.taskId(), task.dueDate());
+        }
+    }
+
+    /**
+     * The date overdue is measured against; reading it applies a pending rollover.
+     */
+    public LocalDate today() {
+        if (!today.equals(LocalDate.now(clock))) {
+            rollover();
+        }
+        return today;
+    }
+
+    public long count() {
+        today();
+        return overdueCount.get();
+    }
+
+    /**
+     * Ids of overdue tasks in {@code (dueDate, id)} order, skipping {@code offset} and returning at most
+     * {@code limit}.
+     */
+    public List<Long> ids(long offset, int limit, boolean descending) {
+        today();
+        NavigableSet<Key> view = descending ? overdue.descendingSet() : overdue;
+        List<Long> ids = new ArrayList<>(Math.min(limit, 256));
+        Iterator<Key> keys = view.iterator();
+        for (long skipped = 0; skipped < offset && keys.hasNext(); skipped++) {
+            keys.next();
+        }
+        while (ids.size() < limit && keys.hasNext()) {
+            ids.add(keys.next().id());
+        }
+        return ids;
+    }
+
+    /**
+     * Moves every task due before the current date from {@code upcoming} to {@code overdue}.
+     */
+    public synchronized void rollover() {
+        LocalDate now = LocalDate.now(clock);
+        int moved = 0;
+        for (Key head = first(upcoming); head != null && head.dueDate().isBefore(now); head = first(upcoming)) {
+            upcoming.remove(head);
+            if (overdue.add(head)) {
+                overdueCount.incrementAndGet();
+            }
+            moved++;
+        }
+        if (!now.equals(today)) {
+            log.info("Overdue rollover to {} moved {} tasks", now, moved);
+        }
+        today = now;
+    }
+
+    private synchronized void track(long id, LocalDate dueDate) {
+        LocalDate previous = open.put(id, dueDate);
+        if (previous != null) {
+            remove(new Key(previous, id));
+        }
+        Key key = new Key(dueDate, id);
+        if (dueDate.isBefore(today)) {
+            if (overdue.add(key)) {
+                overdueCount.incrementAndGet();
+            }
+        } else {
+            upcoming.add(key);
+        }
+    }
+
+    private synchronized void untrack(long id) {
+        LocalDate previous = open.remove(id);
+        if (previous != null) {
+            remove(new Key(previous, id));
+        }
+    }
+
+    private void remove(Key key) {
+        if (overdue.remove(key)) {
+            overdueCount.decrementAndGet();
+        } else {
+            upcoming.remove(key);
+        }
+    }
+
+    private static Key first(NavigableSet<Key> keys) {
+        return keys.isEmpty() ? null : keys.first();
+    }
+
+    private synchronized void scheduleRollover() {
+        if (scheduler == null) {
+            return;
+        }
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay(now.getZone());
+        long delay = Duration.between(now, midnight).toMillis();
+        scheduler.schedule(() -> {
+            try {
+                rollover();
+            } finally {
+                scheduleRollover();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        load();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "overdue-rollover");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleRollover();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    @Override
+    public int getPhase() {
+        // Load before the web server starts serving overdue listings.
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    record Key(LocalDate dueDate, long id) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(Key other) {
+            int result = dueDate.compareTo(other.dueDate);
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.devaloi.springapi.service;
+
+import com.devaloi.springapi.config.ReactivePersistenceConfig;
+import com.devaloi.springapi.config.TaskUpdateProperties;
+import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.dto.UpdateTaskRequest;
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import com.devaloi.springapi.exception.TaskConflictException;
+import com.devaloi.springapi.exception.TaskNotFoundException;
+import com.devaloi.springapi.repository.ReactiveTaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+/**
+ * The rules of {@link TaskServiceImpl} on non-blocking persistence, for the v2 API.
+ *
+ * <p>Changes are published as {@link TaskChangedEvent}s after they have committed, so the overdue index and
+ * the journal follow v2 writes like any other. There is no Spring transaction around them, so listeners run
+ * synchronously: they are called on a bounded elastic worker, never on a driver or request thread, and a write
+ * completes only once they return. With the journal enabled that includes waiting for its fsync, as in v1. Updates retry and conflict as {@link TaskServiceImpl#update}
+ * does, with Reactor's jittered backoff between attempts.
+ */
+@Service
+@ConditionalOnExpression(ReactivePersistenceConfig.ENABLED)
+public class ReactiveTaskService {
+
+    private final ReactiveTaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskUpdateProperties updateProperties;
+    private final Counter retryCounter;
+    private final Counter conflictCounter;
+
+    public ReactiveTaskService(ReactiveTaskRepository taskRepository, ApplicationEventPublisher eventPublisher,
+                               TaskUpdateProperties updateProperties, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.updateProperties = updateProperties;
+        this.retryCounter = meterRegistry.counter("tasks.update.retries");
+        this.conflictCounter = meterRegistry.counter("tasks.update.conflicts");
+    }
+
+    public Mono<TaskResponse> create(CreateTaskRequest request, String owner) {
+        Task task = new Task();
+        task.setOwner(owner);
+        task.setTitle(request.title());
+        task.setDescription(request.description());
+        task.setStatus(request.status() != null ? request.status() : TaskStatus.TODO);
+        task.setPriority(request.priority() != null ? request.priority() : TaskPriority.MEDIUM);
+        task.setDueDate(request.dueDate());
+        LocalDateTime now = LocalDateTime.now();
+        task.setCreatedAt(now);
+        task.setUpdatedAt(now);
+        return taskRepository.insert(task)
+                .map(TaskResponse::from)
+                .flatMap(response -> publish(TaskChangedEvent.created(response)).thenReturn(response));
+    }
+
+    public Mono<TaskResponse> getById(Long id) {
+        return find(id).map(TaskResponse::from);
+    }
+
+    public Flux<TaskResponse> getAll(TaskFilter filter, Pageable pageable) {
+        return taskRepository.findFiltered(filter, LocalDate.now(), pageable).map(TaskResponse::from);
+    }
+
+    public Mono<TaskResponse> update(Long id, UpdateTaskRequest request) {
+        Mono<TaskChangedEvent> attempt = find(id).flatMap(task -> {
+            if (request.version() != null && request.version() != task.getVersion()) {
+                return Mono.error(TaskConflictException.staleVersion(request.version(), TaskResponse.from(task)));
+            }
+            TaskStatus previousStatus = task.getStatus();
+            if (request.title() != null) {
+                task.setTitle(request.title());
+            }
+            if (request.description() != null) {
+                task.setDescription(request.description());
+            }
+            if (request.status() != null) {
+                task.setStatus(request.status());
+            }
+            if (request.priority() != null) {
+                task.setPriority(request.priority());
+            }
+            if (request.dueDate() != null) {
+                task.setDueDate(request.dueDate());
+            }
+            task.setUpdatedAt(LocalDateTime.now());
+            return taskRepository.update(task).flatMap(updated -> updated
+                    ? Mono.just(TaskChangedEvent.updated(TaskResponse.from(task), previousStatus))
+                    : Mono.error(new OptimisticLockingFailureException("Task " + id + " changed concurrently")));
+        });
+        Retry retry = Retry.backoff(updateProperties.maxAttempts() - 1, updateProperties.initialBackoff())
+                .maxBackoff(updateProperties.maxBackoff())
+                .filter(ex -> ex instanceof OptimisticLockingFailureException && request.version() == null)
+                .doBeforeRetry(signal -> retryCounter.increment())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+        return taskRepository.inTransaction(attempt)
+                .retryWhen(retry)
+                .onErrorResume(OptimisticLockingFailureException.class, ex -> find(id).flatMap(current -> {
+                    conflictCounter.increment();
+                    TaskResponse response = TaskResponse.from(current);
+                    return Mono.error(request.version() != null
+                            ? TaskConflictException.staleVersion(request.version(), response)
+                            : TaskConflictException.contended(response));
+                }))
+                .flatMap(event -> publish(event).thenReturn(event.task()));
+    }
+
+    public Mono<Void> delete(Long id) {
+        return taskRepository.deleteById(id)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(notFound(id))
+                .flatMap(deleted -> publish(TaskChangedEvent.deleted(id)));
+    }
+
+    private Mono<Void> publish(TaskChangedEvent event) {
+        return Mono.<Void>fromRunnable(() -> eventPublisher.publishEvent(event))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Task> find(Long id) {
+        return taskRepository.findById(id).switchIfEmpty(notFound(id));
+    }
+
+    private static <T> Mono<T> notFound(Long id) {
+        return Mono.error(() -> new TaskNotFoundException(id));
+    }
+}
@@ -0,0 +1,145 @@
+package com.devaloi.springapi.service;
+
+import com.devaloi.springapi.config.TaskArchiveProperties;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import com.devaloi.springapi.repository.TaskArchiveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Background job moving completed tasks older than {@code tasks.archive.min-age} into {@code tasks_archive}.
+ *
+ * <p>Each run walks the table in primary-key order, one transaction per batch of at most
+ * {@code tasks.archive.batch-size} tasks, sleeping {@code tasks.archive.batch-pause} between batches so the
+ * job never holds locks or I/O for long. A run stopped midway loses nothing: moved tasks are gone from
+ * {@code tasks}, so the next run simply continues with the rest. Archived tasks are published as deletions.
+ *
+ * <p>Only the JPA engine is supported; the in-memory engine would keep serving tasks archived under it.
+ */
+@Component
+@ConditionalOnExpression("${tasks.archive.enabled:false} and '${tasks.engine.type:jpa}' == 'jpa'")
+public class TaskArchiver implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiver.class);
+
+    private final TaskArchiveProperties properties;
+    private final TaskArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter archivedCounter;
+    private final Timer runTimer;
+
+    private ScheduledExecutorService scheduler;
+
+    public TaskArchiver(TaskArchiveProperties properties,
+                        TaskArchiveRepository archiveRepository,
+                        PlatformTransactionManager transactionManager,
+                        ApplicationEventPublisher eventPublisher,
+                        MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.archivedCounter = meterRegistry.counter("tasks.archive.moved");
+        this.runTimer = Timer.builder("tasks.archive.run")
+                .description("Time to archive all eligible tasks")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Archives every task eligible at call time and returns how many were moved.
+     */
+    public long archive() {
+        return runTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime cutoff = now.minus(properties.minAge());
+            long after = 0;
+            long moved = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Long> candidates = archiveRepository.findArchivable(cutoff, after, properties.batchSize());
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                moved += archiveBatch(candidates, cutoff, now);
+                after = candidates.get(candidates.size() - 1);
+                if (candidates.size() < properties.batchSize() || !pause()) {
+                    break;
+                }
+            }
+            if (moved > 0) {
+                log.info("Archived {} completed tasks last updated before {}", moved, cutoff);
+            }
+            return moved;
+        });
+    }
+
+    private int archiveBatch(List<Long> candidates, LocalDateTime cutoff, LocalDateTime now) {
+        List<Long> archived = transactionTemplate.execute(status -> {
+            List<Long> ids = archiveRepository.archive(candidates, cutoff, now);
+            ids.forEach(id -> eventPublisher.publishEvent(TaskChangedEvent.deleted(id, TaskStatus.DONE)));
+            return ids;
+        });
+        archivedCounter.increment(archived.size());
+        return archived.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.batchPause());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void runSafely() {
+        try {
+            archive();
+        } catch (RuntimeException ex) {
+            log.warn("Task archival run failed; it will be retried", ex);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = properties.interval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::runSafely, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+}
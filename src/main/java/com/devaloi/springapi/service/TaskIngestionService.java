@@ -0,0 +1,312 @@
+package com.devaloi.springapi.service;
+
+import com.devaloi.springapi.config.TaskIngestProperties;
+import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import com.devaloi.springapi.exception.IngestQueueFullException;
+import com.devaloi.springapi.repository.TaskBatchWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind ingestion for {@code POST /api/tasks?async=true}.
+ *
+ * <p>Producers reserve a slot with a CAS on {@code depth} before appending to a lock-free queue, so the queue
+ * stays bounded without a lock on the hot path. A single writer thread drains up to {@code batchSize} tasks
+ * at a time and hands them to the {@link TaskBatchWriter} as one batch in one transaction (group commit).
+ *
+ * <p>A task that cannot be written goes back on the queue and is tried again, up to {@code maxAttempts} times.
+ * Ids of tasks that were given up on are remembered (bounded by the queue capacity), so their {@code Location}
+ * can say the write failed instead of answering 404 as if the task had never existed.
+ *
+ * <p>On shutdown the writer keeps draining until the queue is empty, for up to {@code shutdownTimeout}; tasks
+ * still queued after that are logged and counted as abandoned.
+ */
+@Service
+public class TaskIngestionService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskIngestionService.class);
+
+    private final TaskBatchWriter batchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskIngestProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentLinkedQueue<Task> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Map<Long, Integer> attempts = new ConcurrentHashMap<>();
+    private final Set<Long> dropped;
+
+    private final Object idLock = new Object();
+    private long nextId;
+    private long idLimit;
+
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+    private final Counter abandonedCounter;
+    private final Timer commitTimer;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public TaskIngestionService(TaskBatchWriter batchWriter,
+                                PlatformTransactionManager transactionManager,
+                                TaskIngestProperties properties,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry) {
+        this.batchWriter = batchWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.dropped = Collections.newSetFromMap(Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > properties.queueCapacity();
+            }
+        }));
+        Gauge.builder("tasks.ingest.queue.depth", depth, AtomicInteger::get)
+                .description("Tasks accepted but not yet committed")
+                .register(meterRegistry);
+        this.acceptedCounter = meterRegistry.counter("tasks.ingest.accepted");
+        this.rejectedCounter = meterRegistry.counter("tasks.ingest.rejected");
+        this.failedCounter = meterRegistry.counter("tasks.ingest.failed");
+        this.abandonedCounter = meterRegistry.counter("tasks.ingest.abandoned");
+        this.commitTimer = Timer.builder("tasks.ingest.commit")
+                .description("Latency of one group-commit batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public TaskResponse submit(CreateTaskRequest request, String owner) {
+        if (!reserveSlot()) {
+            rejectedCounter.increment();
+            throw new IngestQueueFullException(properties.queueCapacity(), properties.retryAfter());
+        }
+        Task task;
+        try {
+            task = toTask(request, owner);
+        } catch (RuntimeException ex) {
+            depth.decrementAndGet();
+            throw ex;
+        }
+        queue.offer(task);
+        acceptedCounter.increment();
+        if (depth.get() >= properties.batchSize()) {
+            Thread current = writer;
+            if (current != null) {
+                LockSupport.unpark(current);
+            }
+        }
+        return TaskResponse.from(task);
+    }
+
+    public int queueDepth() {
+        return depth.get();
+    }
+
+    /**
+     * Whether the task with this id was accepted but never written, after all its attempts failed.
+     */
+    public boolean isDropped(long id) {
+        return dropped.contains(id);
+    }
+
+    /**
+     * Drains and commits everything queued so far on the calling thread.
+     */
+    public void flush() {
+        List<Task> batch;
+        while (!(batch = drain()).isEmpty()) {
+            commit(batch);
+        }
+    }
+
+    private boolean reserveSlot() {
+        int current;
+        do {
+            current = depth.get();
+            if (current >= properties.queueCapacity()) {
+                return false;
+            }
+        } while (!depth.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private Task toTask(CreateTaskRequest request, String owner) {
+        LocalDateTime now = LocalDateTime.now();
+        Task task = new Task();
+        task.setId(allocateId());
+        task.setOwner(owner);
+        task.setTitle(request.title());
+        task.setDescription(request.description());
+        task.setStatus(request.status() != null ? request.status() : TaskStatus.TODO);
+        task.setPriority(request.priority() != null ? request.priority() : TaskPriority.MEDIUM);
+        task.setDueDate(request.dueDate());
+        task.setCreatedAt(now);
+        task.setUpdatedAt(now);
+        return task;
+    }
+
+    private long allocateId() {
+        synchronized (idLock) {
+            if (nextId >= idLimit) {
+                nextId = batchWriter.nextIdBlock();
+                idLimit = nextId + Task.ID_ALLOCATION_SIZE;
+            }
+            return nextId++;
+        }
+    }
+
+    private List<Task> drain() {
+        List<Task> batch = new ArrayList<>(Math.min(depth.get(), properties.batchSize()));
+        Task task;
+        while (batch.size() < properties.batchSize() && (task = queue.poll()) != null) {
+            batch.add(task);
+        }
+        if (!batch.isEmpty()) {
+            depth.addAndGet(-batch.size());
+        }
+        return batch;
+    }
+
+    /**
+     * Returns whether every task in the batch was written; the others are requeued or dropped.
+     */
+    private boolean commit(List<Task> batch) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            if (!attempts.isEmpty()) {
+                batch.forEach(task -> attempts.remove(task.getId()));
+            }
+            return true;
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                retryOrDrop(batch.get(0), ex);
+                return false;
+            }
+            log.warn("Group commit of {} tasks failed, retrying individually", batch.size(), ex);
+            return commitIndividually(batch);
+        } finally {
+            commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean commitIndividually(List<Task> batch) {
+        boolean committed = true;
+        for (Task task : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(List.of(task)));
+                attempts.remove(task.getId());
+            } catch (RuntimeException ex) {
+                retryOrDrop(task, ex);
+                committed = false;
+            }
+        }
+        return committed;
+    }
+
+    private void retryOrDrop(Task task, RuntimeException ex) {
+        int attempt = attempts.merge(task.getId(), 1, Integer::sum);
+        if (attempt < properties.maxAttempts()) {
+            log.warn("Ingested task {} failed on attempt {}, requeueing", task.getId(), attempt, ex);
+            // Already accepted, so it goes back even if new submissions have filled the queue meanwhile.
+            depth.incrementAndGet();
+            queue.offer(task);
+            return;
+        }
+        attempts.remove(task.getId());
+        dropped.add(task.getId());
+        failedCounter.increment();
+        log.error("Dropping ingested task {} after {} attempts", task.getId(), attempt, ex);
+    }
+
+    private void insert(List<Task> batch) {
+        batchWriter.insertAll(batch);
+        for (Task task : batch) {
+            eventPublisher.publishEvent(TaskChangedEvent.created(TaskResponse.from(task)));
+        }
+    }
+
+    private void runWriter() {
+        long parkNanos = properties.flushInterval().toNanos();
+        // Stops once the queue has drained after stop(), or when stop() gave up waiting and let go of it.
+        while (writer == Thread.currentThread() && (running || depth.get() > 0)) {
+            List<Task> batch = drain();
+            // After a failure, wait before trying the requeued tasks again.
+            if (batch.isEmpty() || !commit(batch)) {
+                LockSupport.parkNanos(this, parkNanos);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::runWriter, "task-ingest-writer");
+        // stop() waits for the drain; being a daemon only matters when the context is never closed.
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(properties.shutdownTimeout().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        if (thread.isAlive()) {
+            // The DataSource closes after this phase, so whatever is still queued will not be written.
+            int remaining = depth.get();
+            abandonedCounter.increment(remaining);
+            log.error("Shutdown timed out after {} with {} ingested tasks still queued",
+                    properties.shutdownTimeout(), remaining);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Start before and stop after the web server so accepted tasks are always drained.
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,182 @@
+package com.devaloi.springapi.service;
+
+import com.devaloi.springapi.config.ReplicaDataSourceProperties;
+import com.devaloi.springapi.config.TaskListCacheProperties;
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded cache of task list pages, so read-mostly periods serve repeated listings without a query.
+ *
+ * <p>Entries are keyed by the normalized filter, selected fields and pageable (sort included). Instead of
+ * tracking which pages a write affects, every committed {@link TaskChangedEvent} bumps a global generation
+ * and the generations of the statuses the task left and entered. A page filtered by status is valid while
+ * its status generation is unchanged, any other page while the global one is; a page is only stored if its
+ * generation did not move while it was loading, so a load racing a write never outlives it.
+ *
+ * <p>With a read replica, a load shortly after a write may still see the replica's old rows. Nothing is
+ * stored until {@code tasks.datasource.replica.read-your-writes-window} has passed since the last write.
+ *
+ * <p>Eviction is CLOCK (second chance): a hit marks its entry, and when the cache is over
+ * {@code tasks.list-cache.max-entries} the oldest unmarked entries go first.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.engine.type", havingValue = "jpa", matchIfMissing = true)
+public class TaskListCache {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Key> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final AtomicLongArray statusGenerations = new AtomicLongArray(STATUSES.length);
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long settleNanos;
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile long lastChangeNanos;
+
+    public TaskListCache(TaskListCacheProperties properties, ReplicaDataSourceProperties replica,
+                         MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.maxEntries = properties.maxEntries();
+        this.settleNanos = replica.url() != null ? replica.readYourWritesWindow().toNanos() : 0;
+        this.lastChangeNanos = System.nanoTime() - settleNanos;
+        this.hits = meterRegistry.counter("tasks.list-cache.hits");
+        this.misses = meterRegistry.counter("tasks.list-cache.misses");
+        Gauge.builder("tasks.list-cache.size", entries, Map::size)
+                .description("Task list pages held in the list cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached page for the listing, or loads, stores and returns it. {@code today} is the date
+     * overdue filters are evaluated against, or {@code null} when the filter does not depend on it.
+     */
+    public Page<TaskResponse> get(TaskFilter filter, Set<TaskField> fields, Pageable pageable, LocalDate today,
+                                  Supplier<Page<TaskResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = Key.of(filter, fields, pageable, today);
+        long generation = generation(filter.status());
+        Entry entry = entries.get(key);
+        if (entry != null && entry.generation == generation) {
+            entry.referenced = true;
+            hits.increment();
+            return entry.page;
+        }
+        misses.increment();
+        Page<TaskResponse> page = loader.get();
+        if (generation(filter.status()) == generation && System.nanoTime() - lastChangeNanos >= settleNanos) {
+            store(key, new Entry(page, generation));
+        }
+        return page;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lastChangeNanos = System.nanoTime();
+        globalGeneration.incrementAndGet();
+        switch (event.type()) {
+            case CREATED -> bump(event.task().status());
+            case UPDATED -> {
+                bump(event.task().status());
+                bump(event.previousStatus());
+            }
+            case DELETED -> bump(event.previousStatus());
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private long generation(TaskStatus status) {
+        return status != null ? statusGenerations.get(status.ordinal()) : globalGeneration.get();
+    }
+
+    /**
+     * Bumps one status, or all of them when the event could not say which status the task had.
+     */
+    private void bump(TaskStatus status) {
+        if (status != null) {
+            statusGenerations.incrementAndGet(status.ordinal());
+            return;
+        }
+        for (TaskStatus each : STATUSES) {
+            statusGenerations.incrementAndGet(each.ordinal());
+        }
+    }
+
+    /**
+     * Stale entries are replaced in place rather than removed, so every key in the map sits in the clock
+     * queue exactly once and the queue never outgrows the map.
+     */
+    private void store(Key key, Entry entry) {
+        if (entries.put(key, entry) != null) {
+            return;
+        }
+        clock.offer(key);
+        while (entries.size() > maxEntries) {
+            Key candidate = clock.poll();
+            if (candidate == null) {
+                return;
+            }
+            Entry current = entries.get(candidate);
+            if (current != null && current.referenced) {
+                current.referenced = false;
+                clock.offer(candidate);
+            } else {
+                entries.remove(candidate);
+            }
+        }
+    }
+
+    private record Key(TaskFilter filter, Set<TaskField> fields, Pageable pageable, LocalDate today) {
+
+        static Key of(TaskFilter filter, Set<TaskField> fields, Pageable pageable, LocalDate today) {
+            // Search matches case-insensitively, so differently cased searches share a page.
+            TaskFilter normalized = filter.search() == null ? filter : new TaskFilter(filter.status(),
+                    filter.priority(), filter.search().toLowerCase(Locale.ROOT), filter.dueFrom(), filter.dueTo(),
+                    filter.overdue(), filter.owner());
+            return new Key(normalized, fields == null || fields.isEmpty() ? null : Set.copyOf(fields), pageable,
+                    today);
+        }
+    }
+
+    private static final class Entry {
+
+        final Page<TaskResponse> page;
+        final long generation;
+        volatile boolean referenced;
+
+        Entry(Page<TaskResponse> page, long generation) {
+            this.page = page;
+            this.generation = generation;
+        }
+    }
+}
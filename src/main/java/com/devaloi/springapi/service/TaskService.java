@@ -1,20 +1,31 @@
 package com.devaloi.springapi.service;
 
 import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.OverdueSummary;
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
 import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.dto.TaskStats;
 import com.devaloi.springapi.dto.UpdateTaskRequest;
-import com.devaloi.springapi.entity.TaskPriority;
-import com.devaloi.springapi.entity.TaskStatus;
+import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface TaskService {
 
-    TaskResponse create(CreateTaskRequest request);
+    TaskResponse create(CreateTaskRequest request, String owner);
 
     TaskResponse getById(Long id);
 
-    Page<TaskResponse> getAll(TaskStatus status, TaskPriority priority, String search, Pageable pageable);
+    TaskResponse getById(Long id, Set<TaskField> fields);
+
+    Page<TaskResponse> getAll(TaskFilter filter, Pageable pageable);
+
+    Page<TaskResponse> getAll(TaskFilter filter, Set<TaskField> fields, Pageable pageable);
+
+    OverdueSummary getOverdueSummary();
+
+    TaskStats getStats(String owner);
 
     TaskResponse update(Long id, UpdateTaskRequest request);
 
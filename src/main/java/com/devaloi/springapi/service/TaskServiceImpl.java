@@ -1,59 +1,195 @@
 package com.devaloi.springapi.service;
 
+import com.devaloi.springapi.config.TaskUpdateProperties;
 import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.OverdueSummary;
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
 import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.dto.TaskStats;
 import com.devaloi.springapi.dto.UpdateTaskRequest;
 import com.devaloi.springapi.entity.Task;
 import com.devaloi.springapi.entity.TaskPriority;
 import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import com.devaloi.springapi.exception.TaskConflictException;
+import com.devaloi.springapi.exception.TaskNotFoundException;
 import com.devaloi.springapi.repository.TaskRepository;
-import jakarta.persistence.EntityNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @Transactional
+@ConditionalOnProperty(name = "tasks.engine.type", havingValue = "jpa", matchIfMissing = true)
 public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OverdueIndex overdueIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TaskListCache listCache;
+    private final TaskUpdateProperties updateProperties;
+    private final Counter retryCounter;
+    private final Counter conflictCounter;
 
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, ApplicationEventPublisher eventPublisher,
+                           OverdueIndex overdueIndex, PlatformTransactionManager transactionManager,
+                           TaskListCache listCache, TaskUpdateProperties updateProperties,
+                           MeterRegistry meterRegistry) {
         this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.overdueIndex = overdueIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.listCache = listCache;
+        this.updateProperties = updateProperties;
+        this.retryCounter = meterRegistry.counter("tasks.update.retries");
+        this.conflictCounter = meterRegistry.counter("tasks.update.conflicts");
     }
 
     @Override
-    public TaskResponse create(CreateTaskRequest request) {
+    public TaskResponse create(CreateTaskRequest request, String owner) {
         Task task = new Task();
+        task.setOwner(owner);
         task.setTitle(request.title());
         task.setDescription(request.description());
         task.setStatus(request.status() != null ? request.status() : TaskStatus.TODO);
         task.setPriority(request.priority() != null ? request.priority() : TaskPriority.MEDIUM);
         task.setDueDate(request.dueDate());
-        Task saved = taskRepository.save(task);
-        return TaskResponse.from(saved);
+        TaskResponse response = TaskResponse.from(taskRepository.save(task));
+        eventPublisher.publishEvent(TaskChangedEvent.created(response));
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
     public TaskResponse getById(Long id) {
         Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + id));
+                .orElseThrow(() -> new TaskNotFoundException(id));
         return TaskResponse.from(task);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<TaskResponse> getAll(TaskStatus status, TaskPriority priority, String search, Pageable pageable) {
-        return taskRepository.findWithFilters(status, priority, search, pageable)
-                .map(TaskResponse::from);
+    public TaskResponse getById(Long id, Set<TaskField> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return getById(id);
+        }
+        return taskRepository.findProjectedById(id, fields)
+                .map(TaskResponse::from)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Page<TaskResponse> getAll(TaskFilter filter, Pageable pageable) {
+        return list(filter, null, pageable);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Page<TaskResponse> getAll(TaskFilter filter, Set<TaskField> fields, Pageable pageable) {
+        return list(filter, fields, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OverdueSummary getOverdueSummary() {
+        return new OverdueSummary(overdueIndex.count(), overdueIndex.today());
+    }
+
+    /**
+     * Counts one owner's tasks from {@code idx_tasks_owner_status_created_at}, so the cost follows the owner's
+     * task count rather than the table's.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskStats getStats(String owner) {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        long total = 0;
+        for (TaskRepository.StatusCount count : taskRepository.countByStatusForOwner(owner)) {
+            byStatus.put(count.getStatus(), count.getCount());
+            total += count.getCount();
+        }
+        LocalDate today = overdueIndex.today();
+        return new TaskStats(owner, total, byStatus, taskRepository.countOverdueForOwner(owner, today), today);
     }
 
+    /**
+     * Applies the non-null fields of {@code request} to the task, each attempt in its own transaction.
+     *
+     * <p>When another writer commits between the read and the write, the attempt fails its version check and
+     * the same fields are applied again to the fresh row after a jittered backoff, so both changes survive.
+     * A request naming the version it was based on is never merged: it fails with a conflict instead, as do
+     * updates that are still losing after {@code tasks.update.max-attempts}.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public TaskResponse update(Long id, UpdateTaskRequest request) {
+        // A failed attempt spoils a transaction the caller owns, so there is nothing left to retry in.
+        int maxAttempts = TransactionSynchronizationManager.isActualTransactionActive()
+                ? 1 : updateProperties.maxAttempts();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyUpdate(id, request));
+            } catch (OptimisticLockingFailureException ex) {
+                if (request.version() != null) {
+                    conflictCounter.increment();
+                    throw TaskConflictException.staleVersion(request.version(), current(id));
+                }
+                if (attempt >= maxAttempts) {
+                    conflictCounter.increment();
+                    throw TaskConflictException.contended(current(id));
+                }
+                retryCounter.increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    @Override
+    public void delete(Long id) {
         Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + id));
+                .orElseThrow(() -> new TaskNotFoundException(id));
+        taskRepository.delete(task);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id, task.getStatus()));
+    }
+
+    private TaskResponse applyUpdate(Long id, UpdateTaskRequest request) {
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+        if (request.version() != null && request.version() != task.getVersion()) {
+            throw TaskConflictException.staleVersion(request.version(), TaskResponse.from(task));
+        }
+        TaskStatus previousStatus = task.getStatus();
 
         if (request.title() != null) {
             task.setTitle(request.title());
@@ -72,14 +208,95 @@ public class TaskServiceImpl implements TaskService {
         }
 
         Task saved = taskRepository.save(task);
-        return TaskResponse.from(saved);
+        // Flush so the version check runs and @PreUpdate has stamped updatedAt before the change is published.
+        taskRepository.flush();
+        TaskResponse response = TaskResponse.from(saved);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(response, previousStatus));
+        return response;
     }
 
-    @Override
-    public void delete(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new EntityNotFoundException("Task not found with id: " + id);
+    /**
+     * Serves the listing from the list cache, which runs a read-only transaction only on a miss. A caller's
+     * own transaction bypasses the cache: it may see its uncommitted writes or roll back, so its reads are not
+     * safe to share.
+     */
+    private Page<TaskResponse> list(TaskFilter filter, Set<TaskField> fields, Pageable pageable) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return load(filter, fields, pageable);
+        }
+        LocalDate today = filter.overdue() != null ? overdueIndex.today() : null;
+        return listCache.get(filter, fields, pageable, today,
+                () -> readOnlyTransactionTemplate.execute(status -> load(filter, fields, pageable)));
+    }
+
+    private Page<TaskResponse> load(TaskFilter filter, Set<TaskField> fields, Pageable pageable) {
+        if (filter.isOverdueOnly() && isDueDateOrder(pageable.getSort())) {
+            Page<Task> page = fromOverdueIndex(pageable);
+            if (page != null) {
+                // Rows come back whole; the controller's field filter trims them on the way out.
+                return page.map(TaskResponse::from);
+            }
+        }
+        if (fields == null || fields.isEmpty()) {
+            return taskRepository.findFiltered(filter, overdueIndex.today(), pageable)
+                    .map(TaskResponse::from);
+        }
+        return taskRepository.findProjected(filter, overdueIndex.today(), fields, pageable)
+                .map(TaskResponse::from);
+    }
+
+    private TaskResponse current(Long id) {
+        return transactionTemplate.execute(status -> taskRepository.findById(id)
+                .map(TaskResponse::from)
+                .orElseThrow(() -> new TaskNotFoundException(id)));
+    }
+
+    /**
+     * Sleeps a random time up to the attempt's exponential cap ("full jitter"), so writers that collided once do
+     * not collide again in lockstep.
+     */
+    private void backoff(int attempt) {
+        long cap = Math.min(updateProperties.maxBackoff().toNanos(),
+                updateProperties.initialBackoff().toNanos() << Math.min(attempt - 1, 20));
+        LockSupport.parkNanos(this, ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    /**
+     * Pages overdue tasks straight from the index: ids in due-date order, then one primary-key lookup.
+     *
+     * <p>The index follows the primary, while the lookup may read a replica that has not caught up. When a row
+     * is missing or no longer overdue the page would disagree with its total, so this returns {@code null} and
+     * the caller answers with the regular query instead, whose content and count come from the same reads.
+     */
+    private Page<Task> fromOverdueIndex(Pageable pageable) {
+        Sort.Order order = pageable.getSort().iterator().hasNext() ? pageable.getSort().iterator().next() : null;
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        List<Long> ids = overdueIndex.ids(offset, limit, order != null && order.isDescending());
+        Map<Long, Task> byId = new HashMap<>();
+        taskRepository.findAllById(ids).forEach(task -> byId.put(task.getId(), task));
+        LocalDate today = overdueIndex.today();
+        List<Task> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Task task = byId.get(id);
+            if (task == null || !isOverdue(task, today)) {
+                return null;
+            }
+            content.add(task);
+        }
+        return PageableExecutionUtils.getPage(content, pageable, overdueIndex::count);
+    }
+
+    private static boolean isOverdue(Task task, LocalDate today) {
+        return task.getDueDate() != null && task.getDueDate().isBefore(today) && task.getStatus() != TaskStatus.DONE;
+    }
+
+    private static boolean isDueDateOrder(Sort sort) {
+        if (sort.isUnsorted()) {
+            return true;
         }
-        taskRepository.deleteById(id);
+        Iterator<Sort.Order> orders = sort.iterator();
+        Sort.Order order = orders.next();
+        return !orders.hasNext() && order.getProperty().equals(TaskField.DUE_DATE.property()) && !order.isIgnoreCase();
     }
 }
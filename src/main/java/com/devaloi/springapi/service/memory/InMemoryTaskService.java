@@ -0,0 +1,275 @@
+package com.devaloi.springapi.service.memory;
+
+import com.devaloi.springapi.config.TaskEngineProperties;
+import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.OverdueSummary;
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.dto.TaskStats;
+import com.devaloi.springapi.dto.UpdateTaskRequest;
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import com.devaloi.springapi.exception.TaskConflictException;
+import com.devaloi.springapi.exception.TaskNotFoundException;
+import com.devaloi.springapi.journal.TaskJournal;
+import com.devaloi.springapi.repository.TaskBatchRepository;
+import com.devaloi.springapi.repository.TaskBatchWriter;
+import com.devaloi.springapi.repository.TaskRepository;
+import com.devaloi.springapi.service.TaskService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link TaskService} answered entirely from memory, enabled with {@code tasks.engine.type=memory}.
+ *
+ * <p>Reads never touch the database. With {@code tasks.engine.write-through=true} (the default) every write
+ * is committed to the database first and only then published to memory, and the store is loaded from the
+ * database on startup. When the {@link TaskJournal} is enabled the store is warmed from its snapshot and
+ * journal tail instead, which also makes the engine durable without write-through. With neither, the data
+ * lives only as long as the process.
+ *
+ * <p>It is also the {@link TaskBatchWriter} for async ingestion, so queued tasks become visible here too.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "tasks.engine.type", havingValue = "memory")
+public class InMemoryTaskService implements TaskService, TaskBatchWriter, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryTaskService.class);
+
+    private final TaskStore store = new TaskStore();
+    private final AtomicLong ids = new AtomicLong(1);
+    private final TaskEngineProperties properties;
+    private final TaskRepository taskRepository;
+    private final TaskBatchRepository batchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<TaskJournal> journal;
+
+    public InMemoryTaskService(TaskEngineProperties properties,
+                               TaskRepository taskRepository,
+                               TaskBatchRepository batchRepository,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               ObjectProvider<TaskJournal> journal) {
+        this.properties = properties;
+        this.taskRepository = taskRepository;
+        this.batchRepository = batchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.journal = journal;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        TaskJournal taskJournal = journal.getIfAvailable();
+        if (taskJournal != null) {
+            restore(taskJournal);
+        } else if (properties.writeThrough()) {
+            load();
+        }
+    }
+
+    /**
+     * Replaces the store contents with the journal's snapshot plus tail.
+     */
+    public void restore(TaskJournal taskJournal) {
+        store.clear();
+        taskJournal.restore().forEach(task -> add(TaskRecord.from(task)));
+        log.info("Restored {} tasks into the in-memory engine from the journal", store.size());
+    }
+
+    /**
+     * Replaces the store contents with the current database rows, read page by page from the primary.
+     */
+    public void load() {
+        store.clear();
+        int page = 0;
+        List<Task> chunk;
+        do {
+            PageRequest request = PageRequest.of(page++, properties.loadBatchSize(), Sort.by("id"));
+            chunk = transactionTemplate.execute(status -> taskRepository.findAll(request).getContent());
+            chunk.forEach(task -> add(TaskRecord.from(task)));
+        } while (chunk.size() == properties.loadBatchSize());
+        log.info("Loaded {} tasks into the in-memory engine", store.size());
+    }
+
+    @Override
+    public TaskResponse create(CreateTaskRequest request, String owner) {
+        TaskRecord record;
+        if (properties.writeThrough()) {
+            TaskRecord draft = TaskRecord.create(0, request, owner, null);
+            record = TaskRecord.from(taskRepository.save(draftEntity(draft)));
+        } else {
+            record = TaskRecord.create(ids.getAndIncrement(), request, owner, LocalDateTime.now());
+        }
+        store.put(record);
+        TaskResponse response = record.toResponse();
+        eventPublisher.publishEvent(TaskChangedEvent.created(response));
+        return response;
+    }
+
+    @Override
+    public TaskResponse getById(Long id) {
+        return find(id).toResponse();
+    }
+
+    @Override
+    public TaskResponse getById(Long id, Set<TaskField> fields) {
+        return find(id).toResponse(fields);
+    }
+
+    @Override
+    public Page<TaskResponse> getAll(TaskFilter filter, Pageable pageable) {
+        return store.query(filter, LocalDate.now(), pageable).map(TaskRecord::toResponse);
+    }
+
+    @Override
+    public Page<TaskResponse> getAll(TaskFilter filter, Set<TaskField> fields, Pageable pageable) {
+        return store.query(filter, LocalDate.now(), pageable).map(record -> record.toResponse(fields));
+    }
+
+    @Override
+    public OverdueSummary getOverdueSummary() {
+        LocalDate today = LocalDate.now();
+        TaskFilter overdue = new TaskFilter(null, null, null, null, null, true, null);
+        return new OverdueSummary(count(overdue, today), today);
+    }
+
+    @Override
+    public TaskStats getStats(String owner) {
+        LocalDate today = LocalDate.now();
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        long total = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            long count = count(TaskFilter.of(status, null, null).withOwner(owner), today);
+            byStatus.put(status, count);
+            total += count;
+        }
+        TaskFilter overdue = new TaskFilter(null, null, null, null, null, true, owner);
+        return new TaskStats(owner, total, byStatus, count(overdue, today), today);
+    }
+
+    @Override
+    public TaskResponse update(Long id, UpdateTaskRequest request) {
+        ReentrantLock lock = store.lockFor(id);
+        lock.lock();
+        try {
+            // Writers to one task are serialized here, so there is nothing to retry; only a stale pin conflicts.
+            TaskRecord current = find(id);
+            if (request.version() != null && request.version() != current.version()) {
+                throw TaskConflictException.staleVersion(request.version(), current.toResponse());
+            }
+            TaskRecord updated;
+            if (properties.writeThrough()) {
+                Task saved = transactionTemplate.execute(status -> {
+                    Task task = taskRepository.findById(id)
+                            .orElseThrow(() -> new TaskNotFoundException(id));
+                    TaskRecord.from(task).apply(request, null).copyTo(task);
+                    return taskRepository.saveAndFlush(task);
+                });
+                updated = TaskRecord.from(saved);
+            } else {
+                updated = current.apply(request, LocalDateTime.now());
+            }
+            store.put(updated);
+            TaskResponse response = updated.toResponse();
+            eventPublisher.publishEvent(TaskChangedEvent.updated(response, current.status()));
+            return response;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(Long id) {
+        ReentrantLock lock = store.lockFor(id);
+        lock.lock();
+        try {
+            TaskRecord current = find(id);
+            if (properties.writeThrough()) {
+                taskRepository.deleteById(id);
+            }
+            store.remove(id);
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(id, current.status()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long nextIdBlock() {
+        return properties.writeThrough()
+                ? batchRepository.nextIdBlock()
+                : ids.getAndAdd(Task.ID_ALLOCATION_SIZE);
+    }
+
+    @Override
+    public void insertAll(List<Task> tasks) {
+        if (properties.writeThrough()) {
+            batchRepository.insertAll(tasks);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(tasks);
+                }
+            });
+        } else {
+            publish(tasks);
+        }
+    }
+
+    private void publish(List<Task> tasks) {
+        tasks.forEach(task -> store.put(TaskRecord.from(task)));
+    }
+
+    private void add(TaskRecord record) {
+        store.put(record);
+        ids.accumulateAndGet(record.id() + 1, Math::max);
+    }
+
+    private TaskRecord find(Long id) {
+        TaskRecord record = id == null ? null : store.get(id);
+        if (record == null) {
+            throw new TaskNotFoundException(id);
+        }
+        return record;
+    }
+
+    private long count(TaskFilter filter, LocalDate today) {
+        return store.query(filter, today, PageRequest.of(0, 1)).getTotalElements();
+    }
+
+    private static Task draftEntity(TaskRecord draft) {
+        Task task = new Task();
+        task.setOwner(draft.owner());
+        draft.copyTo(task);
+        return task;
+    }
+}
@@ -0,0 +1,249 @@
+package com.devaloi.springapi.service.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Open-addressing hash map keyed by primitive {@code long}, split into independently locked stripes.
+ *
+ * <p>Reads use {@link StampedLock#tryOptimisticRead()} and only fall back to a read lock when a concurrent
+ * write to the same stripe invalidated the stamp, so the common read path takes no lock and allocates
+ * nothing. Keys must be positive: {@code 0} marks an empty slot.
+ */
+final class StripedLongMap<V> {
+
+    private static final int STRIPE_BITS = 4;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Stripe<V>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    StripedLongMap() {
+        stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    V get(long key) {
+        long hash = mix(key);
+        return stripes[stripeIndex(hash)].get(key, hash);
+    }
+
+    V put(long key, V value) {
+        checkKey(key);
+        long hash = mix(key);
+        return stripes[stripeIndex(hash)].put(key, hash, value);
+    }
+
+    V remove(long key) {
+        long hash = mix(key);
+        return stripes[stripeIndex(hash)].remove(key, hash);
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe<V> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    List<V> values() {
+        List<V> values = new ArrayList<>(size());
+        for (Stripe<V> stripe : stripes) {
+            stripe.copyValuesTo(values);
+        }
+        return values;
+    }
+
+    void clear() {
+        for (Stripe<V> stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    private static void checkKey(long key) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Keys must be positive: " + key);
+        }
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private static int stripeIndex(long hash) {
+        return (int) (hash >>> (64 - STRIPE_BITS));
+    }
+
+    private static final class Table {
+
+        final long[] keys;
+        final Object[] values;
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+        }
+    }
+
+    private static final class Stripe<V> {
+
+        private final StampedLock lock = new StampedLock();
+        private Table table = new Table(INITIAL_CAPACITY);
+        private int size;
+
+        V get(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                V value = find(table, key, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return find(table, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        V put(long key, long hash, V value) {
+            long stamp = lock.writeLock();
+            try {
+                if ((size + 1) * 4 > table.keys.length * 3) {
+                    resize();
+                }
+                long[] keys = table.keys;
+                int mask = keys.length - 1;
+                int slot = (int) hash & mask;
+                while (keys[slot] != 0) {
+                    if (keys[slot] == key) {
+                        @SuppressWarnings("unchecked")
+                        V previous = (V) table.values[slot];
+                        table.values[slot] = value;
+                        return previous;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                table.values[slot] = value;
+                keys[slot] = key;
+                size++;
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        V remove(long key, long hash) {
+            long stamp = lock.writeLock();
+            try {
+                long[] keys = table.keys;
+                Object[] values = table.values;
+                int mask = keys.length - 1;
+                int slot = (int) hash & mask;
+                while (keys[slot] != key) {
+                    if (keys[slot] == 0) {
+                        return null;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                @SuppressWarnings("unchecked")
+                V previous = (V) values[slot];
+                // Backward-shift deletion keeps probe chains intact without tombstones.
+                int hole = slot;
+                int next = (hole + 1) & mask;
+                while (keys[next] != 0) {
+                    int home = (int) mix(keys[next]) & mask;
+                    if (((next - home) & mask) >= ((next - hole) & mask)) {
+                        keys[hole] = keys[next];
+                        values[hole] = values[next];
+                        hole = next;
+                    }
+                    next = (next + 1) & mask;
+                }
+                keys[hole] = 0;
+                values[hole] = null;
+                size--;
+                return previous;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void copyValuesTo(List<V> target) {
+            long stamp = lock.readLock();
+            try {
+                for (Object value : table.values) {
+                    if (value != null) {
+                        target.add((V) value);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void clear() {
+            long stamp = lock.writeLock();
+            try {
+                table = new Table(INITIAL_CAPACITY);
+                size = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void resize() {
+            Table old = table;
+            Table grown = new Table(old.keys.length * 2);
+            int mask = grown.keys.length - 1;
+            for (int i = 0; i < old.keys.length; i++) {
+                long key = old.keys[i];
+                if (key != 0) {
+                    int slot = (int) mix(key) & mask;
+                    while (grown.keys[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    grown.keys[slot] = key;
+                    grown.values[slot] = old.values[i];
+                }
+            }
+            table = grown;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> V find(Table table, long key, long hash) {
+            long[] keys = table.keys;
+            Object[] values = table.values;
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            for (int probes = 0; probes < keys.length; probes++) {
+                long candidate = keys[slot];
+                if (candidate == key) {
+                    return (V) values[slot];
+                }
+                if (candidate == 0) {
+                    return null;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.devaloi.springapi.service.memory;
+
+import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.dto.UpdateTaskRequest;
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of one task as held by the in-memory engine. Updates replace the whole record.
+ */
+record TaskRecord(
+        long id,
+        String title,
+        String description,
+        TaskStatus status,
+        TaskPriority priority,
+        LocalDate dueDate,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        long version,
+        String owner
+) {
+
+    static TaskRecord create(long id, CreateTaskRequest request, String owner, LocalDateTime now) {
+        return new TaskRecord(
+                id,
+                request.title(),
+                request.description(),
+                request.status() != null ? request.status() : TaskStatus.TODO,
+                request.priority() != null ? request.priority() : TaskPriority.MEDIUM,
+                request.dueDate(),
+                now,
+                now,
+                0,
+                owner);
+    }
+
+    static TaskRecord from(Task task) {
+        return new TaskRecord(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                task.getPriority(),
+                task.getDueDate(),
+                task.getCreatedAt(),
+                task.getUpdatedAt(),
+                task.getVersion(),
+                task.getOwner());
+    }
+
+    static TaskRecord from(TaskResponse task) {
+        return new TaskRecord(
+                task.id(),
+                task.title(),
+                task.description(),
+                task.status(),
+                task.priority(),
+                task.dueDate(),
+                task.createdAt(),
+                task.updatedAt(),
+                task.version() != null ? task.version() : 0,
+                task.owner() != null ? task.owner() : Task.SYSTEM_OWNER);
+    }
+
+    TaskRecord apply(UpdateTaskRequest request, LocalDateTime now) {
+        return new TaskRecord(
+                id,
+                request.title() != null ? request.title() : title,
+                request.description() != null ? request.description() : description,
+                request.status() != null ? request.status() : status,
+                request.priority() != null ? request.priority() : priority,
+                request.dueDate() != null ? request.dueDate() : dueDate,
+                createdAt,
+                now,
+                version + 1,
+                owner);
+    }
+
+    /**
+     * Copies the user-editable fields onto {@code task}; id, owner, timestamps and version stay owned by the
+     * entity.
+     */
+    void copyTo(Task task) {
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setStatus(status);
+        task.setPriority(priority);
+        task.setDueDate(dueDate);
+    }
+
+    boolean matches(TaskFilter filter, String needle, LocalDate today) {
+        return (filter.owner() == null || filter.owner().equals(owner))
+                && (filter.status() == null || status == filter.status())
+                && (filter.priority() == null || priority == filter.priority())
+                && (needle == null || title.toLowerCase(Locale.ROOT).contains(needle))
+                && (filter.dueFrom() == null || dueDate != null && !dueDate.isBefore(filter.dueFrom()))
+                && (filter.dueTo() == null || dueDate != null && !dueDate.isAfter(filter.dueTo()))
+                && (filter.overdue() == null || filter.overdue() == isOverdue(today));
+    }
+
+    boolean isOverdue(LocalDate today) {
+        return dueDate != null && dueDate.isBefore(today) && status != TaskStatus.DONE;
+    }
+
+    Object value(TaskField field) {
+        return switch (field) {
+            case ID -> id;
+            case TITLE -> title;
+            case DESCRIPTION -> description;
+            case STATUS -> status;
+            case PRIORITY -> priority;
+            case DUE_DATE -> dueDate;
+            case CREATED_AT -> createdAt;
+            case UPDATED_AT -> updatedAt;
+            case VERSION -> version;
+            case OWNER -> owner;
+        };
+    }
+
+    TaskResponse toResponse() {
+        return new TaskResponse(id, title, description, status, priority, dueDate, createdAt, updatedAt, version,
+                owner);
+    }
+
+    TaskResponse toResponse(Set<TaskField> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return toResponse();
+        }
+        return new TaskResponse(
+                fields.contains(TaskField.ID) ? id : null,
+                fields.contains(TaskField.TITLE) ? title : null,
+                fields.contains(TaskField.DESCRIPTION) ? description : null,
+                fields.contains(TaskField.STATUS) ? status : null,
+                fields.contains(TaskField.PRIORITY) ? priority : null,
+                fields.contains(TaskField.DUE_DATE) ? dueDate : null,
+                fields.contains(TaskField.CREATED_AT) ? createdAt : null,
+                fields.contains(TaskField.UPDATED_AT) ? updatedAt : null,
+                fields.contains(TaskField.VERSION) ? version : null,
+                fields.contains(TaskField.OWNER) ? owner : null);
+    }
+}
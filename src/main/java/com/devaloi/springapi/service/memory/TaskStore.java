@@ -0,0 +1,375 @@
+package com.devaloi.springapi.service.memory;
+
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Task records keyed by id plus ordered secondary indexes.
+ *
+ * <p>Every index holds {@code (value, id)} keys only; readers resolve the id against the primary map and
+ * re-check the filter, so an index entry that is briefly stale during a concurrent write is skipped rather
+ * than returned. Writers to the same id are serialized by a striped lock, and an update only touches the
+ * indexes whose key actually changed.
+ */
+final class TaskStore {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final Index<LocalDateTime> NO_KEYS = new Index<>();
+
+    private final StripedLongMap<TaskRecord> tasks = new StripedLongMap<>();
+    private final Index<LocalDateTime> byCreatedAt = new Index<>();
+    private final Map<String, Index<LocalDateTime>> byOwner = new ConcurrentHashMap<>();
+    private final Map<TaskStatus, Index<LocalDateTime>> byStatus = new EnumMap<>(TaskStatus.class);
+    private final Map<TaskPriority, Index<LocalDateTime>> byPriority = new EnumMap<>(TaskPriority.class);
+    private final Index<LocalDate> byDueDate = new Index<>();
+    private final Index<LocalDateTime> withoutDueDate = new Index<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    TaskStore() {
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, new Index<>());
+        }
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, new Index<>());
+        }
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    TaskRecord get(long id) {
+        return tasks.get(id);
+    }
+
+    int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Lock serializing writers of {@code id}; hold it across a read-modify-write of the same task.
+     */
+    ReentrantLock lockFor(long id) {
+        return locks[(int) (id ^ (id >>> 32)) & (LOCK_STRIPES - 1)];
+    }
+
+    void put(TaskRecord record) {
+        ReentrantLock lock = lockFor(record.id());
+        lock.lock();
+        try {
+            TaskRecord previous = tasks.put(record.id(), record);
+            reindex(previous, record);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    TaskRecord remove(long id) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            TaskRecord previous = tasks.remove(id);
+            if (previous != null) {
+                reindex(previous, null);
+            }
+            return previous;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            tasks.clear();
+            byCreatedAt.clear();
+            byOwner.clear();
+            byStatus.values().forEach(Index::clear);
+            byPriority.values().forEach(Index::clear);
+            byDueDate.clear();
+            withoutDueDate.clear();
+        } finally {
+            for (ReentrantLock lock : locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    Page<TaskRecord> query(TaskFilter filter, LocalDate today, Pageable pageable) {
+        String needle = filter.search() == null || filter.search().isEmpty()
+                ? null : filter.search().toLowerCase(Locale.ROOT);
+        Sort sort = pageable.getSort();
+        Sort.Order single = sort.stream().count() == 1 ? sort.iterator().next() : null;
+
+        LocalDate from = filter.dueFrom();
+        LocalDate to = filter.dueTo();
+        if (Boolean.TRUE.equals(filter.overdue())) {
+            LocalDate yesterday = today.minusDays(1);
+            to = to == null || to.isAfter(yesterday) ? yesterday : to;
+        }
+        if (from != null || to != null) {
+            // A due-date bound excludes undated tasks, so the due-date index alone holds every candidate.
+            if (from != null && to != null && from.isAfter(to)) {
+                return new PageImpl<>(List.of(), pageable, 0);
+            }
+            if (sort.isUnsorted() || isNative(single, TaskField.DUE_DATE)) {
+                boolean descending = single != null && single.isDescending();
+                return scan(List.of(byDueDate.range(from, to, descending)), -1, filter, needle, today, pageable);
+            }
+            return sorted(byDueDate.range(from, to, false), filter, needle, today, pageable);
+        }
+
+        String owner = filter.owner();
+        TaskStatus status = filter.status();
+        TaskPriority priority = filter.priority();
+        Index<LocalDateTime> candidates = narrowest(owner, status, priority);
+        if (sort.isUnsorted() || isNative(single, TaskField.CREATED_AT)) {
+            boolean descending = single != null && single.isDescending();
+            int keyed = (owner != null ? 1 : 0) + (status != null ? 1 : 0) + (priority != null ? 1 : 0);
+            boolean covered = needle == null && filter.overdue() == null && keyed <= 1;
+            return scan(List.of(candidates.keys(descending)), covered ? candidates.size() : -1,
+                    filter, needle, today, pageable);
+        }
+        if (isNative(single, TaskField.DUE_DATE)) {
+            // Nulls sort first ascending and last descending, matching H2.
+            List<Iterator<? extends Key<?>>> order = single.isAscending()
+                    ? List.of(withoutDueDate.keys(false), byDueDate.keys(false))
+                    : List.of(byDueDate.keys(true), withoutDueDate.keys(true));
+            boolean covered = needle == null && filter.owner() == null && status == null && priority == null
+                    && filter.overdue() == null;
+            return scan(order, covered ? tasks.size() : -1, filter, needle, today, pageable);
+        }
+        return sorted(candidates.keys(false), filter, needle, today, pageable);
+    }
+
+    private Page<TaskRecord> sorted(Iterator<? extends Key<?>> keys, TaskFilter filter, String needle,
+                                    LocalDate today, Pageable pageable) {
+        List<TaskRecord> matches = new ArrayList<>();
+        while (keys.hasNext()) {
+            TaskRecord record = tasks.get(keys.next().id());
+            if (record != null && record.matches(filter, needle, today)) {
+                matches.add(record);
+            }
+        }
+        matches.sort(comparator(pageable.getSort()));
+        int from = (int) Math.min(offset(pageable), matches.size());
+        int to = (int) Math.min((long) from + limit(pageable), matches.size());
+        return new PageImpl<>(new ArrayList<>(matches.subList(from, to)), pageable, matches.size());
+    }
+
+    private Page<TaskRecord> scan(List<Iterator<? extends Key<?>>> sources, long knownTotal, TaskFilter filter,
+                                  String needle, LocalDate today, Pageable pageable) {
+        long offset = offset(pageable);
+        int limit = limit(pageable);
+        List<TaskRecord> content = new ArrayList<>(Math.min(limit, 256));
+        long matched = 0;
+        for (Iterator<? extends Key<?>> keys : sources) {
+            while (keys.hasNext()) {
+                TaskRecord record = tasks.get(keys.next().id());
+                if (record == null || !record.matches(filter, needle, today)) {
+                    continue;
+                }
+                if (matched >= offset && content.size() < limit) {
+                    content.add(record);
+                }
+                matched++;
+                if (knownTotal >= 0 && content.size() == limit) {
+                    return new PageImpl<>(content, pageable, knownTotal);
+                }
+            }
+        }
+        return new PageImpl<>(content, pageable, matched);
+    }
+
+    private Index<LocalDateTime> narrowest(String owner, TaskStatus status, TaskPriority priority) {
+        Index<LocalDateTime> best = byCreatedAt;
+        if (owner != null) {
+            best = byOwner.getOrDefault(owner, NO_KEYS);
+        }
+        if (status != null && (best == byCreatedAt || byStatus.get(status).size() < best.size())) {
+            best = byStatus.get(status);
+        }
+        if (priority != null && (best == byCreatedAt || byPriority.get(priority).size() < best.size())) {
+            best = byPriority.get(priority);
+        }
+        return best;
+    }
+
+    private void reindex(TaskRecord previous, TaskRecord current) {
+        TaskRecord any = current != null ? current : previous;
+        Key<LocalDateTime> created = new Key<>(any.createdAt(), any.id());
+        // Owners never change, so the owner index only follows inserts and removals.
+        if (previous == null) {
+            byCreatedAt.add(created);
+            byOwner.computeIfAbsent(any.owner(), owner -> new Index<>()).add(created);
+        } else if (current == null) {
+            byCreatedAt.remove(created);
+            byOwner.getOrDefault(any.owner(), NO_KEYS).remove(created);
+        }
+        move(byStatus, previous == null ? null : previous.status(), current == null ? null : current.status(),
+                created);
+        move(byPriority, previous == null ? null : previous.priority(),
+                current == null ? null : current.priority(), created);
+
+        LocalDate before = previous == null ? null : previous.dueDate();
+        LocalDate after = current == null ? null : current.dueDate();
+        boolean wasUndated = previous != null && before == null;
+        boolean isUndated = current != null && after == null;
+        if (current != null && after != null && !after.equals(before)) {
+            byDueDate.add(new Key<>(after, any.id()));
+        }
+        if (isUndated && !wasUndated) {
+            withoutDueDate.add(created);
+        }
+        if (before != null && !before.equals(after)) {
+            byDueDate.remove(new Key<>(before, any.id()));
+        }
+        if (wasUndated && !isUndated) {
+            withoutDueDate.remove(created);
+        }
+    }
+
+    private static <E extends Enum<E>> void move(Map<E, Index<LocalDateTime>> indexes, E from, E to,
+                                                 Key<LocalDateTime> key) {
+        if (from == to) {
+            return;
+        }
+        // Add before remove so a concurrent scan filtered on either value never misses a live task.
+        if (to != null) {
+            indexes.get(to).add(key);
+        }
+        if (from != null) {
+            indexes.get(from).remove(key);
+        }
+    }
+
+    private static boolean isNative(Sort.Order order, TaskField field) {
+        return order != null
+                && order.getProperty().equals(field.property())
+                && order.getNullHandling() == Sort.NullHandling.NATIVE;
+    }
+
+    private static long offset(Pageable pageable) {
+        return pageable.isPaged() ? pageable.getOffset() : 0;
+    }
+
+    private static int limit(Pageable pageable) {
+        return pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+    }
+
+    private static Comparator<TaskRecord> comparator(Sort sort) {
+        Comparator<TaskRecord> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<TaskRecord> next = comparator(order);
+            result = result == null ? next : result.thenComparing(next);
+        }
+        Comparator<TaskRecord> byId = Comparator.comparingLong(TaskRecord::id);
+        return result == null ? byId : result.thenComparing(byId);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<TaskRecord> comparator(Sort.Order order) {
+        TaskField field = TaskField.fromProperty(order.getProperty());
+        Comparator values;
+        if (field == TaskField.STATUS || field == TaskField.PRIORITY) {
+            // Enums are stored as strings, so the database orders them by name.
+            values = Comparator.comparing((Enum<?> value) -> value.name());
+        } else if (order.isIgnoreCase() && (field == TaskField.TITLE || field == TaskField.DESCRIPTION)) {
+            values = String.CASE_INSENSITIVE_ORDER;
+        } else {
+            values = Comparator.naturalOrder();
+        }
+        if (order.isDescending()) {
+            values = values.reversed();
+        }
+        boolean nullsFirst = switch (order.getNullHandling()) {
+            case NULLS_FIRST -> true;
+            case NULLS_LAST -> false;
+            case NATIVE -> order.isAscending();
+        };
+        values = nullsFirst ? Comparator.nullsFirst(values) : Comparator.nullsLast(values);
+        Comparator<Object> typed = values;
+        return (left, right) -> typed.compare(left.value(field), right.value(field));
+    }
+
+    record Key<T extends Comparable<? super T>>(T value, long id) implements Comparable<Key<T>> {
+
+        Key {
+            Objects.requireNonNull(value);
+        }
+
+        @Override
+        public int compareTo(Key<T> other) {
+            int result = value.compareTo(other.value);
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+    }
+
+    private static final class Index<T extends Comparable<? super T>> {
+
+        private final ConcurrentSkipListSet<Key<T>> keys = new ConcurrentSkipListSet<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        void add(Key<T> key) {
+            if (keys.add(key)) {
+                size.incrementAndGet();
+            }
+        }
+
+        void remove(Key<T> key) {
+            if (keys.remove(key)) {
+                size.decrementAndGet();
+            }
+        }
+
+        int size() {
+            return size.get();
+        }
+
+        Iterator<Key<T>> keys(boolean descending) {
+            NavigableSet<Key<T>> view = descending ? keys.descendingSet() : keys;
+            return view.iterator();
+        }
+
+        /**
+         * Keys whose value lies in {@code [from, to]}; a {@code null} bound is open.
+         */
+        Iterator<Key<T>> range(T from, T to, boolean descending) {
+            NavigableSet<Key<T>> view = keys;
+            if (from != null) {
+                view = view.tailSet(new Key<>(from, Long.MIN_VALUE), true);
+            }
+            if (to != null) {
+                view = view.headSet(new Key<>(to, Long.MAX_VALUE), true);
+            }
+            return (descending ? view.descendingSet() : view).iterator();
+        }
+
+        void clear() {
+            keys.clear();
+            size.set(0);
+        }
+    }
+}
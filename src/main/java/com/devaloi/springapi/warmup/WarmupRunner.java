@@ -0,0 +1,250 @@
+package com.devaloi.springapi.warmup;
+
+import com.devaloi.springapi.config.TaskEngineProperties;
+import com.devaloi.springapi.config.WarmupProperties;
+import com.devaloi.springapi.controller.TaskController;
+import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.dto.UpdateTaskRequest;
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.exception.ErrorResponse;
+import com.devaloi.springapi.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.lang.reflect.Proxy;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drives the task endpoints through their hot paths before the instance reports ready, so the JIT, the
+ * Hibernate query plan cache and the Jackson serializers are warm when real traffic arrives.
+ *
+ * <p>Every iteration runs in one transaction that is always rolled back: it creates, reads, updates and deletes
+ * a scratch task, lists with each filter shape, sort and sparse fieldset, sends a not-found through the
+ * {@link GlobalExceptionHandler} as a JSON and a CBOR client would, validates an invalid request and serializes
+ * every response with each negotiated format. Change events are only delivered
+ * after commit, so nothing reaches the journal or the overdue index. Writes are skipped for the in-memory engine,
+ * whose store is not transactional.
+ *
+ * <p>Runs as an {@link ApplicationRunner}: readiness stays {@link ReadinessState#REFUSING_TRAFFIC} until it
+ * returns, and Spring Boot switches it to {@link ReadinessState#ACCEPTING_TRAFFIC} afterwards. A failure is
+ * logged and does not keep the instance out of rotation.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final List<Pageable> PAGES = List.of(
+            PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")),
+            PageRequest.of(1, 20, Sort.by("title")),
+            PageRequest.of(0, 20, Sort.by("dueDate")),
+            PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "priority", "createdAt")));
+
+    private static final Set<TaskField> SPARSE_FIELDS = EnumSet.of(TaskField.ID, TaskField.TITLE, TaskField.STATUS);
+
+    private static final CreateTaskRequest INVALID_REQUEST = new CreateTaskRequest("", null, null, null, null);
+
+    private static final Principal OWNER = () -> Task.SYSTEM_OWNER;
+
+    private final WarmupProperties properties;
+    private final TaskEngineProperties engineProperties;
+    private final TaskController taskController;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final List<ObjectMapper> mappers = new ArrayList<>();
+    private final Timer warmupTimer;
+    private final Counter iterationCounter;
+
+    public WarmupRunner(WarmupProperties properties,
+                        TaskEngineProperties engineProperties,
+                        TaskController taskController,
+                        GlobalExceptionHandler exceptionHandler,
+                        PlatformTransactionManager transactionManager,
+                        Validator validator,
+                        HttpMessageConverters messageConverters,
+                        MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.engineProperties = engineProperties;
+        this.taskController = taskController;
+        this.exceptionHandler = exceptionHandler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        messageConverters.getConverters().stream()
+                .filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+                .map(converter -> ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper())
+                .distinct()
+                .forEach(mappers::add);
+        this.warmupTimer = Timer.builder("tasks.warmup")
+                .description("Time spent warming up before accepting traffic")
+                .register(meterRegistry);
+        this.iterationCounter = meterRegistry.counter("tasks.warmup.iterations");
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean writes = engineProperties.type() == TaskEngineProperties.Type.JPA;
+        long start = System.nanoTime();
+        long deadline = start + properties.maxDuration().toNanos();
+        int completed = 0;
+        try {
+            while (completed < properties.iterations() && System.nanoTime() < deadline) {
+                int iteration = completed;
+                transactionTemplate.executeWithoutResult(status -> {
+                    status.setRollbackOnly();
+                    exercise(iteration, writes);
+                });
+                iterationCounter.increment();
+                completed++;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Warmup stopped after {} iterations", completed, ex);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            warmupTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Warmup ran {} iterations in {} ms", completed, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    private void exercise(int iteration, boolean writes) {
+        LocalDate today = LocalDate.now();
+        Long id = null;
+        if (writes) {
+            CreateTaskRequest request = new CreateTaskRequest("Warmup " + iteration, "Rolled back",
+                    TaskStatus.IN_PROGRESS, TaskPriority.HIGH, today.minusDays(1));
+            TaskResponse created = taskController.create(request, false, OWNER).getBody();
+            id = created.id();
+            serialize(created);
+            serialize(taskController.getById(id, null, false).getBody());
+            serialize(taskController.getById(id, SPARSE_FIELDS, false).getBody());
+            serialize(taskController.update(id, new UpdateTaskRequest(null, null, TaskStatus.DONE, null, null, null))
+                    .getBody());
+        }
+
+        List<TaskFilter> filters = List.of(
+                TaskFilter.NONE,
+                TaskFilter.of(TaskStatus.TODO, null, null),
+                TaskFilter.of(null, TaskPriority.HIGH, null),
+                TaskFilter.of(null, null, "warmup"),
+                TaskFilter.of(TaskStatus.IN_PROGRESS, TaskPriority.MEDIUM, "task"),
+                new TaskFilter(null, null, null, today.minusDays(7), today.plusDays(7), null, null),
+                new TaskFilter(null, null, null, null, null, true, null),
+                new TaskFilter(TaskStatus.TODO, null, null, null, null, false, null),
+                TaskFilter.NONE.withOwner(OWNER.getName()),
+                TaskFilter.of(TaskStatus.IN_PROGRESS, null, null).withOwner(OWNER.getName()));
+        for (int i = 0; i < filters.size(); i++) {
+            // Rotate sorts across iterations so every filter shape meets every sort.
+            TaskFilter filter = filters.get(i);
+            Pageable pageable = PAGES.get((iteration + i) % PAGES.size());
+            serialize(list(filter, null, false, pageable));
+            serialize(list(filter, SPARSE_FIELDS, false, pageable));
+        }
+        serialize(list(TaskFilter.of(TaskStatus.DONE, null, null), null, true, PAGES.get(0)));
+        serialize(taskController.countOverdue().getBody());
+        serialize(taskController.getMyStats(OWNER).getBody());
+
+        try {
+            taskController.getById(Long.MAX_VALUE, null, false);
+        } catch (EntityNotFoundException ex) {
+            exceptionHandler.handleEntityNotFound(ex, request(MediaType.APPLICATION_JSON_VALUE));
+            serialize(exceptionHandler.handleEntityNotFound(ex, request(MediaType.APPLICATION_CBOR_VALUE)).getBody());
+        }
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        for (ConstraintViolation<CreateTaskRequest> violation : validator.validate(INVALID_REQUEST)) {
+            fieldErrors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        serialize(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Validation Failed",
+                "Request body has invalid fields", "/api/tasks", fieldErrors));
+
+        if (id != null) {
+            taskController.delete(id);
+        }
+    }
+
+    private Object list(TaskFilter filter, Set<TaskField> fields, boolean archived, Pageable pageable) {
+        if (filter.owner() != null) {
+            return taskController.getMine(filter.status(), filter.priority(), filter.search(), filter.dueFrom(),
+                    filter.dueTo(), filter.overdue(), fields, archived, pageable, OWNER).getBody();
+        }
+        return taskController.getAll(filter.status(), filter.priority(), filter.search(), filter.dueFrom(),
+                filter.dueTo(), filter.overdue(), fields, archived, pageable).getBody();
+    }
+
+    /**
+     * A request for a missing task carrying only what the exception handler reads; anything else fails the
+     * warmup rather than answering with a made-up value.
+     */
+    private static HttpServletRequest request(String accept) {
+        HttpServletRequest unsupported = (HttpServletRequest) Proxy.newProxyInstance(
+                WarmupRunner.class.getClassLoader(), new Class<?>[] {HttpServletRequest.class},
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException("Warmup request has no " + method.getName());
+                });
+        return new HttpServletRequestWrapper(unsupported) {
+            @Override
+            public String getRequestURI() {
+                return "/api/tasks/" + Long.MAX_VALUE;
+            }
+
+            @Override
+            public String getHeader(String name) {
+                return HttpHeaders.ACCEPT.equalsIgnoreCase(name) ? accept : null;
+            }
+        };
+    }
+
+    private void serialize(Object body) {
+        Object value = body;
+        MappingJacksonValue wrapper = body instanceof MappingJacksonValue jackson ? jackson : null;
+        if (wrapper != null) {
+            value = wrapper.getValue();
+        }
+        for (ObjectMapper mapper : mappers) {
+            try {
+                mapper.writer(wrapper != null ? wrapper.getFilters() : TaskResponse.allFields())
+                        .writeValueAsBytes(value);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Warmup could not serialize " + value.getClass().getName(), ex);
+            }
+        }
+    }
+}
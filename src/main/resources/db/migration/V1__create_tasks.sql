@@ -0,0 +1,29 @@
+-- Baseline schema, identical to what Hibernate generates for the entities.
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE tasks (
+    id          BIGINT        NOT NULL,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(2000),
+    status      ENUM ('DONE', 'IN_PROGRESS', 'TODO') NOT NULL,
+    priority    ENUM ('HIGH', 'LOW', 'MEDIUM') NOT NULL,
+    due_date    DATE,
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_tasks_due_date_status ON tasks (due_date, status);
+
+CREATE TABLE tasks_archive (
+    id          BIGINT        NOT NULL,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(2000),
+    status      ENUM ('DONE', 'IN_PROGRESS', 'TODO') NOT NULL,
+    priority    ENUM ('HIGH', 'LOW', 'MEDIUM') NOT NULL,
+    due_date    DATE,
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6)  NOT NULL,
+    archived_at TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,2 @@
+-- Optimistic locking for concurrent updates; existing rows start at version 0.
+ALTER TABLE tasks ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
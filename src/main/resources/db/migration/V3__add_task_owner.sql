@@ -0,0 +1,7 @@
+-- Owner-scoped tasks; rows from before owners existed belong to the system owner (Task.SYSTEM_OWNER).
+ALTER TABLE tasks ADD COLUMN owner VARCHAR(100) DEFAULT 'system' NOT NULL;
+ALTER TABLE tasks_archive ADD COLUMN owner VARCHAR(100) DEFAULT 'system' NOT NULL;
+
+-- Per-owner listings filter on owner and usually status, and sort by created_at.
+CREATE INDEX idx_tasks_owner_status_created_at ON tasks (owner, status, created_at);
+CREATE INDEX idx_tasks_archive_owner_created_at ON tasks_archive (owner, created_at);
@@ -0,0 +1,43 @@
+package com.devaloi.springapi;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application with the prod profile on a real port and measures the time until it reports ready,
+ * including Flyway migration and warmup. The default budget is about twice a typical boot, so a
+ * regression that doubles startup fails the build; loosen it on slow runners with {@code -Dstartup.budget=PT40S}.
+ */
+class StartupBudgetTest {
+
+    private static final Duration BUDGET = Duration.parse(System.getProperty("startup.budget", "PT20S"));
+
+    @Test
+    void prodProfile_isReadyWithinBudget() {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringapiApplication.class)
+                .profiles("prod")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        // Fail the run if the migrations drift from the entity mappings.
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--tasks.warmup.enabled=true",
+                        "--tasks.warmup.iterations=20")) {
+            Duration timeToReady = Duration.ofNanos(System.nanoTime() - start);
+
+            assertThat(context.getBean(ApplicationAvailability.class).getReadinessState())
+                    .isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+            assertThat(context.getBean(Flyway.class).info().pending()).isEmpty();
+            assertThat(context.getBeanFactory().containsSingleton("openApiResource")).isFalse();
+            assertThat(timeToReady).isLessThan(BUDGET);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.devaloi.springapi.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+
+/**
+ * Minimal in-process timing harness for the {@code benchmark} test group ({@code mvn test -Pbenchmark}).
+ *
+ * <p>Results are indicative only: they run inside the surefire JVM without forking or JMH's dead-code
+ * protections, so compare numbers from the same run rather than across machines.
+ */
+final class BenchmarkSupport {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private BenchmarkSupport() {
+    }
+
+    static Result measure(int warmupIterations, int iterations, Runnable operation) {
+        for (int i = 0; i < warmupIterations; i++) {
+            operation.run();
+        }
+        long cpuStart = THREADS.getCurrentThreadCpuTime();
+        long wallStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+        long cpuNanos = THREADS.getCurrentThreadCpuTime() - cpuStart;
+        return new Result(iterations, wallNanos, cpuNanos);
+    }
+
+    static String format(String pattern, Object... args) {
+        return String.format(Locale.ROOT, pattern, args);
+    }
+
+    record Result(int iterations, long wallNanos, long cpuNanos) {
+
+        double wallNanosPerOp() {
+            return (double) wallNanos / iterations;
+        }
+
+        double cpuNanosPerOp() {
+            return (double) cpuNanos / iterations;
+        }
+
+        double opsPerSecond() {
+            return iterations * 1_000_000_000.0 / wallNanos;
+        }
+    }
+}
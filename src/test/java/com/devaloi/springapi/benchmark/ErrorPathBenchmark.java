@@ -0,0 +1,118 @@
+package com.devaloi.springapi.benchmark;
+
+import com.devaloi.springapi.controller.TaskController;
+import com.devaloi.springapi.exception.ErrorResponse;
+import com.devaloi.springapi.exception.GlobalExceptionHandler;
+import com.devaloi.springapi.exception.TaskNotFoundException;
+import com.devaloi.springapi.service.ArchivedTaskService;
+import com.devaloi.springapi.service.TaskIngestionService;
+import com.devaloi.springapi.service.TaskService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@Tag("benchmark")
+class ErrorPathBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+
+    @Test
+    void notFoundAndValidationThroughput() {
+        MockMvc before = mockMvc(new LegacyExceptionHandler(), id -> {
+            throw new EntityNotFoundException("Task not found with id: " + id);
+        });
+        MockMvc after = mockMvc(new GlobalExceptionHandler(), id -> {
+            throw new TaskNotFoundException(id);
+        });
+        RequestBuilder notFound = get("/api/tasks/99").accept(MediaType.APPLICATION_JSON);
+        RequestBuilder invalid = post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"\",\"description\":null}");
+
+        System.out.println(BenchmarkSupport.format("%-10s %-7s %12s %12s %12s",
+                "path", "handler", "ops/s", "wall us/op", "cpu us/op"));
+        double notFoundBefore = run("404", "before", before, notFound, 404);
+        double notFoundAfter = run("404", "after", after, notFound, 404);
+        run("400", "before", before, invalid, 400);
+        run("400", "after", after, invalid, 400);
+
+        assertThat(notFoundAfter).isGreaterThan(notFoundBefore);
+    }
+
+    private static double run(String path, String handler, MockMvc mockMvc, RequestBuilder request, int status) {
+        BenchmarkSupport.Result result = BenchmarkSupport.measure(WARMUP, ITERATIONS, () -> {
+            try {
+                int actual = mockMvc.perform(request).andReturn().getResponse().getStatus();
+                if (actual != status) {
+                    throw new IllegalStateException("Expected " + status + " but got " + actual);
+                }
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        System.out.println(BenchmarkSupport.format("%-10s %-7s %12.0f %12.1f %12.1f",
+                path, handler, result.opsPerSecond(),
+                result.wallNanosPerOp() / 1000, result.cpuNanosPerOp() / 1000));
+        return result.opsPerSecond();
+    }
+
+    private static MockMvc mockMvc(Object advice, Lookup lookup) {
+        TaskService taskService = mock(TaskService.class);
+        when(taskService.getById(anyLong())).thenAnswer(invocation -> lookup.get(invocation.getArgument(0)));
+        TaskController controller = new TaskController(
+                taskService, mock(TaskIngestionService.class), mock(ArchivedTaskService.class));
+        return MockMvcBuilders.standaloneSetup(controller).setControllerAdvice(advice).build();
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        Object get(Long id);
+    }
+
+    /**
+     * The error handling this benchmark compares against: a message built eagerly into an exception that
+     * captures its stack, and an {@link ErrorResponse} serialized through the negotiated converter.
+     */
+    @RestControllerAdvice
+    static class LegacyExceptionHandler {
+
+        @ExceptionHandler(EntityNotFoundException.class)
+        ResponseEntity<ErrorResponse> handleEntityNotFound(EntityNotFoundException ex, HttpServletRequest request) {
+            ErrorResponse error = new ErrorResponse(
+                    HttpStatus.NOT_FOUND.value(), "Not Found", ex.getMessage(), request.getRequestURI());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+
+        @ExceptionHandler(MethodArgumentNotValidException.class)
+        ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex,
+                                                       HttpServletRequest request) {
+            Map<String, String> fieldErrors = new LinkedHashMap<>();
+            ex.getBindingResult().getFieldErrors().forEach(fe -> fieldErrors.put(fe.getField(), fe.getDefaultMessage()));
+            ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Validation Failed",
+                    "Request body has invalid fields", request.getRequestURI(), fieldErrors);
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
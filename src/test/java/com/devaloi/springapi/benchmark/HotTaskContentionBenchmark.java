@@ -0,0 +1,110 @@
+package com.devaloi.springapi.benchmark;
+
+import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.UpdateTaskRequest;
+import com.devaloi.springapi.exception.TaskConflictException;
+import com.devaloi.springapi.repository.TaskRepository;
+import com.devaloi.springapi.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:hot-tasks;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "tasks.warmup.enabled=false"
+})
+class HotTaskContentionBenchmark {
+
+    private static final int WRITERS = 16;
+    private static final int UPDATES_PER_WRITER = 300;
+    private static final int[] HOT_TASKS = {1, 4, 64};
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void updateThroughputAndCorrectnessUnderContention() throws Exception {
+        System.out.println(BenchmarkSupport.format("%-9s %8s %10s %10s %10s %10s",
+                "hot tasks", "writers", "updates/s", "applied", "retries", "409s"));
+        for (int hotTasks : HOT_TASKS) {
+            run(hotTasks);
+        }
+    }
+
+    private void run(int hotTasks) throws Exception {
+        taskRepository.deleteAll();
+        List<Long> ids = new ArrayList<>();
+        long versionsBefore = 0;
+        for (int i = 0; i < hotTasks; i++) {
+            var task = taskService.create(new CreateTaskRequest("hot-" + i, null, null, null, null), "user");
+            ids.add(task.id());
+            versionsBefore += task.version();
+        }
+        double retriesBefore = meterRegistry.counter("tasks.update.retries").count();
+        double conflictsBefore = meterRegistry.counter("tasks.update.conflicts").count();
+        AtomicLong applied = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        // A title nobody else writes, so every applied update is a real change.
+                        UpdateTaskRequest request = new UpdateTaskRequest(
+                                "writer-" + writer + "-" + i, null, null, null, null, null);
+                        try {
+                            taskService.update(id, request);
+                            applied.incrementAndGet();
+                        } catch (TaskConflictException ex) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+            long elapsed = System.nanoTime() - started;
+
+            long versionsAfter = ids.stream().mapToLong(id -> taskService.getById(id).version()).sum();
+            System.out.println(BenchmarkSupport.format("%-9d %8d %10.0f %10d %10.0f %10.0f",
+                    hotTasks, WRITERS, applied.get() * 1_000_000_000.0 / elapsed, applied.get(),
+                    meterRegistry.counter("tasks.update.retries").count() - retriesBefore,
+                    meterRegistry.counter("tasks.update.conflicts").count() - conflictsBefore));
+            // Every applied update advanced exactly one version; a lost update would leave the sum short.
+            assertThat(versionsAfter - versionsBefore).isEqualTo(applied.get());
+            assertThat(applied.get() + rejected.get()).isEqualTo((long) WRITERS * UPDATES_PER_WRITER);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
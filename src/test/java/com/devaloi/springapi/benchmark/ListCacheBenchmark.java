@@ -0,0 +1,73 @@
+package com.devaloi.springapi.benchmark;
+
+import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import com.devaloi.springapi.service.TaskListCache;
+import com.devaloi.springapi.service.TaskService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:list-cache;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "tasks.warmup.enabled=false"
+})
+class ListCacheBenchmark {
+
+    private static final int TASKS = 5_000;
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskListCache listCache;
+
+    @Test
+    void dashboardListThroughput() {
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        for (int i = 0; i < TASKS; i++) {
+            taskService.create(new CreateTaskRequest("Task " + i, "Quarterly report " + i,
+                    statuses[i % statuses.length], priorities[i % priorities.length], null), "user");
+        }
+        TaskFilter filter = new TaskFilter(TaskStatus.TODO, TaskPriority.HIGH, "report", null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+        // Touches an unrelated status, so it only invalidates the unfiltered pages.
+        TaskChangedEvent unrelated = TaskChangedEvent.updated(taskService.create(
+                new CreateTaskRequest("Other", null, TaskStatus.IN_PROGRESS, null, null), "user"), TaskStatus.DONE);
+
+        System.out.println(BenchmarkSupport.format("%-24s %12s %12s %12s",
+                "mode", "ops/s", "wall us/op", "cpu us/op"));
+        double invalidated = run("invalidated every call", () -> {
+            listCache.onTaskChanged(TaskChangedEvent.deleted(0L));
+            taskService.getAll(filter, pageable);
+        });
+        double unrelatedWrites = run("unrelated status writes", () -> {
+            listCache.onTaskChanged(unrelated);
+            taskService.getAll(filter, pageable);
+        });
+        double cached = run("cached", () -> taskService.getAll(filter, pageable));
+
+        assertThat(cached).isGreaterThan(invalidated);
+        assertThat(unrelatedWrites).isGreaterThan(invalidated);
+    }
+
+    private static double run(String mode, Runnable operation) {
+        BenchmarkSupport.Result result = BenchmarkSupport.measure(WARMUP, ITERATIONS, operation);
+        System.out.println(BenchmarkSupport.format("%-24s %12.0f %12.1f %12.1f",
+                mode, result.opsPerSecond(), result.wallNanosPerOp() / 1000, result.cpuNanosPerOp() / 1000));
+        return result.opsPerSecond();
+    }
+}
@@ -0,0 +1,125 @@
+package com.devaloi.springapi.benchmark;
+
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.repository.TaskBatchRepository;
+import com.devaloi.springapi.service.TaskService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        // H2's result cache would answer the repeated queries against an unchanged table without reading it.
+        "spring.datasource.url=jdbc:h2:mem:owner-list;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;QUERY_CACHE_SIZE=0",
+        "tasks.warmup.enabled=false",
+        "tasks.list-cache.enabled=false"
+})
+class OwnerListBenchmark {
+
+    private static final int[] OWNERS = {10, 100, 1_000};
+    private static final int TASKS_PER_OWNER = 50;
+    private static final int JIT_WARMUP = 30_000;
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 2_000;
+    // The unscoped list scans every TODO row, so it gets far fewer calls.
+    private static final int GLOBAL_ITERATIONS = 100;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskBatchRepository batchRepository;
+
+    @Test
+    void perOwnerListLatencyAsOwnersGrow() {
+        TaskFilter mine = TaskFilter.of(TaskStatus.TODO, null, null).withOwner(owner(0));
+        TaskFilter everyone = TaskFilter.of(TaskStatus.TODO, null, null);
+        Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        System.out.println(BenchmarkSupport.format("%-7s %8s %-8s %12s %12s %12s",
+                "owners", "tasks", "list", "ops/s", "wall us/op", "cpu us/op"));
+        List<BenchmarkSupport.Result> owner = new ArrayList<>();
+        List<BenchmarkSupport.Result> global = new ArrayList<>();
+        int seeded = 0;
+        for (int owners : OWNERS) {
+            seed(seeded, owners);
+            if (seeded == 0) {
+                // The query path keeps getting faster for tens of thousands of calls; warm it once so the
+                // smallest table is not the only one measured cold.
+                BenchmarkSupport.measure(JIT_WARMUP, 0, () -> {
+                    taskService.getAll(mine, pageable);
+                    taskService.getAll(everyone, pageable);
+                });
+            }
+            seeded = owners;
+            owner.add(run(owners, "owner", WARMUP, ITERATIONS, () -> taskService.getAll(mine, pageable)));
+            global.add(run(owners, "global", GLOBAL_ITERATIONS, GLOBAL_ITERATIONS,
+                    () -> taskService.getAll(everyone, pageable)));
+        }
+
+        // A hundred times the owners and tasks; the owner's own page should cost about the same.
+        double smallest = owner.get(0).cpuNanosPerOp();
+        double largest = owner.get(owner.size() - 1).cpuNanosPerOp();
+        assertThat(largest).isLessThan(smallest * 3);
+        assertThat(global.get(global.size() - 1).cpuNanosPerOp()).isGreaterThan(largest * 10);
+    }
+
+    private void seed(int fromOwner, int toOwner) {
+        TaskStatus[] statuses = TaskStatus.values();
+        List<Task> block = new ArrayList<>(Task.ID_ALLOCATION_SIZE);
+        long nextId = 0;
+        int sequence = fromOwner * TASKS_PER_OWNER;
+        // Round-robin across owners, so each owner's rows are spread through the table as they would be live.
+        for (int i = 0; i < TASKS_PER_OWNER; i++) {
+            for (int o = fromOwner; o < toOwner; o++) {
+                if (block.isEmpty()) {
+                    nextId = batchRepository.nextIdBlock();
+                }
+                LocalDateTime created = START.plusSeconds(sequence++);
+                Task task = new Task();
+                task.setId(nextId++);
+                task.setTitle("Task " + i);
+                task.setOwner(owner(o));
+                task.setStatus(statuses[i % statuses.length]);
+                task.setPriority(TaskPriority.MEDIUM);
+                task.setCreatedAt(created);
+                task.setUpdatedAt(created);
+                block.add(task);
+                if (block.size() == Task.ID_ALLOCATION_SIZE) {
+                    batchRepository.insertAll(block);
+                    block.clear();
+                }
+            }
+        }
+        if (!block.isEmpty()) {
+            batchRepository.insertAll(block);
+        }
+    }
+
+    private static BenchmarkSupport.Result run(int owners, String list, int warmup, int iterations,
+                                               Runnable operation) {
+        BenchmarkSupport.Result result = BenchmarkSupport.measure(warmup, iterations, operation);
+        System.out.println(BenchmarkSupport.format("%-7d %8d %-8s %12.0f %12.1f %12.1f",
+                owners, owners * TASKS_PER_OWNER, list, result.opsPerSecond(),
+                result.wallNanosPerOp() / 1000, result.cpuNanosPerOp() / 1000));
+        return result;
+    }
+
+    private static String owner(int index) {
+        return "owner-" + index;
+    }
+}
@@ -0,0 +1,98 @@
+package com.devaloi.springapi.benchmark;
+
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+class PayloadFormatBenchmark {
+
+    private static final int[] PAGE_SIZES = {20, 100, 1000};
+
+    @Test
+    void bytesOnWireAndSerializationCpuPerFormat() throws JsonProcessingException {
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("json", mapperBuilder().build());
+        formats.put("cbor", mapperBuilder().factory(new CBORFactory()).build());
+        formats.put("smile", mapperBuilder().factory(new SmileFactory()).build());
+
+        System.out.println(BenchmarkSupport.format("%-6s %6s %10s %10s %12s %12s",
+                "format", "items", "bytes", "gzip", "wall us/op", "cpu us/op"));
+        for (int size : PAGE_SIZES) {
+            Page<TaskResponse> page = page(size);
+            int jsonBytes = formats.get("json").writeValueAsBytes(page).length;
+            for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+                ObjectMapper mapper = format.getValue();
+                byte[] body = mapper.writeValueAsBytes(page);
+                int iterations = Math.max(200, 200_000 / size);
+                BenchmarkSupport.Result result = BenchmarkSupport.measure(iterations, iterations, () -> {
+                    try {
+                        mapper.writeValueAsBytes(page);
+                    } catch (JsonProcessingException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                System.out.println(BenchmarkSupport.format("%-6s %6d %10d %10d %12.1f %12.1f",
+                        format.getKey(), size, body.length, gzip(body).length,
+                        result.wallNanosPerOp() / 1000, result.cpuNanosPerOp() / 1000));
+                if (!format.getKey().equals("json")) {
+                    assertThat(body.length).isLessThan(jsonBytes);
+                }
+            }
+        }
+    }
+
+    private static Jackson2ObjectMapperBuilder mapperBuilder() {
+        return new Jackson2ObjectMapperBuilder().filters(TaskResponse.allFields());
+    }
+
+    private static Page<TaskResponse> page(int size) {
+        List<TaskResponse> content = new ArrayList<>(size);
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < size; i++) {
+            content.add(new TaskResponse(
+                    (long) i + 1,
+                    "Task " + i + " — review deployment checklist",
+                    "Verify the rollout plan, update the runbook and notify the on-call rotation before item " + i,
+                    TaskStatus.values()[i % TaskStatus.values().length],
+                    TaskPriority.values()[i % TaskPriority.values().length],
+                    i % 3 == 0 ? null : LocalDate.of(2024, 2, 1).plusDays(i % 28),
+                    created.plusMinutes(i),
+                    created.plusMinutes(i).plusSeconds(17), null, "user"));
+        }
+        return new PageImpl<>(content, PageRequest.of(0, size), size * 10L);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+}
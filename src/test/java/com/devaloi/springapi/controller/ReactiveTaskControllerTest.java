@@ -0,0 +1,155 @@
+package com.devaloi.springapi.controller;
+
+import com.devaloi.springapi.config.SecurityConfig;
+import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.service.ReactiveTaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReactiveTaskController.class)
+@Import(SecurityConfig.class)
+class ReactiveTaskControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ReactiveTaskService taskService;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    @WithMockUser
+    void create_returns201WithLocation() throws Exception {
+        TaskResponse created = task(7L, "New");
+        when(taskService.create(any(CreateTaskRequest.class), eq("user"))).thenReturn(Mono.just(created));
+
+        MvcResult result = mockMvc.perform(post("/api/v2/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateTaskRequest("New", null, null, null, null))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/api/v2/tasks/7"))
+                .andExpect(jsonPath("$.title").value("New"));
+    }
+
+    @Test
+    @WithMockUser
+    void create_rejectsInvalidBodyWithV1ErrorShape() throws Exception {
+        mockMvc.perform(post("/api/v2/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Failed"))
+                .andExpect(jsonPath("$.fieldErrors.title").value("Title is required"));
+    }
+
+    @Test
+    void getById_mapsMissingTaskTo404() throws Exception {
+        when(taskService.getById(99L))
+                .thenReturn(Mono.error(new EntityNotFoundException("Task not found with id: 99")));
+
+        MvcResult result = mockMvc.perform(get("/api/v2/tasks/99"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.message").value("Task not found with id: 99"))
+                .andExpect(jsonPath("$.path").value("/api/v2/tasks/99"));
+    }
+
+    @Test
+    void getAll_streamsNdjson() throws Exception {
+        when(taskService.getAll(eq(new TaskFilter(TaskStatus.TODO, null, null, null, null, null, null)), any(Pageable.class)))
+                .thenReturn(Flux.just(task(1L, "First"), task(2L, "Second")));
+
+        MvcResult result = mockMvc.perform(get("/api/v2/tasks")
+                        .param("status", "TODO"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[1]).get("title").asText()).isEqualTo("Second");
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+    }
+
+    @Test
+    void getAll_collectsJsonArray() throws Exception {
+        when(taskService.getAll(any(), any(Pageable.class))).thenReturn(Flux.just(task(1L, "Only")));
+
+        MvcResult result = mockMvc.perform(get("/api/v2/tasks").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].title").value("Only"));
+    }
+
+    @Test
+    @WithMockUser
+    void delete_returns204() throws Exception {
+        when(taskService.delete(3L)).thenReturn(Mono.empty());
+
+        MvcResult result = mockMvc.perform(delete("/api/v2/tasks/3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isNoContent());
+        verify(taskService).delete(3L);
+    }
+
+    @Test
+    void delete_requiresAuthentication() throws Exception {
+        mockMvc.perform(delete("/api/v2/tasks/3")).andExpect(status().isUnauthorized());
+    }
+
+    private TaskResponse task(Long id, String title) {
+        return new TaskResponse(id, title, null, TaskStatus.TODO, TaskPriority.MEDIUM, null, now, now, null, "user");
+    }
+}
@@ -2,12 +2,23 @@ package com.devaloi.springapi.controller;
 
 import com.devaloi.springapi.config.SecurityConfig;
 import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.OverdueSummary;
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
 import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.dto.TaskStats;
 import com.devaloi.springapi.dto.UpdateTaskRequest;
 import com.devaloi.springapi.entity.TaskPriority;
 import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.exception.IngestQueueFullException;
+import com.devaloi.springapi.exception.TaskConflictException;
+import com.devaloi.springapi.exception.TaskNotFoundException;
+import com.devaloi.springapi.service.ArchivedTaskService;
+import com.devaloi.springapi.service.TaskIngestionService;
 import com.devaloi.springapi.service.TaskService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,18 +32,26 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -50,13 +69,19 @@ class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskIngestionService taskIngestionService;
+
+    @MockBean
+    private ArchivedTaskService archivedTaskService;
+
     private final LocalDateTime now = LocalDateTime.now();
 
     @Test
     void getAll_returnsPageOfTasks() throws Exception {
-        TaskResponse task = new TaskResponse(1L, "Test", "Desc", TaskStatus.TODO, TaskPriority.MEDIUM, null, now, now);
+        TaskResponse task = new TaskResponse(1L, "Test", "Desc", TaskStatus.TODO, TaskPriority.MEDIUM, null, now, now, null, "user");
         Page<TaskResponse> page = new PageImpl<>(List.of(task));
-        when(taskService.getAll(any(), any(), any(), any(Pageable.class))).thenReturn(page);
+        when(taskService.getAll(any(), any(Pageable.class))).thenReturn(page);
 
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isOk())
@@ -66,7 +91,7 @@ class TaskControllerTest {
 
     @Test
     void getById_returnsTask() throws Exception {
-        TaskResponse task = new TaskResponse(1L, "Found", null, TaskStatus.TODO, TaskPriority.LOW, null, now, now);
+        TaskResponse task = new TaskResponse(1L, "Found", null, TaskStatus.TODO, TaskPriority.LOW, null, now, now, null, "user");
         when(taskService.getById(1L)).thenReturn(task);
 
         mockMvc.perform(get("/api/tasks/1"))
@@ -75,6 +100,147 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.title").value("Found"));
     }
 
+    @Test
+    void getById_negotiatesCbor() throws Exception {
+        TaskResponse task = new TaskResponse(1L, "Binary", null, TaskStatus.TODO, TaskPriority.LOW, null, now, now, null, "user");
+        when(taskService.getById(1L)).thenReturn(task);
+
+        byte[] body = mockMvc.perform(get("/api/tasks/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode decoded = new CBORMapper().readTree(body);
+        assertThat(decoded.get("title").asText()).isEqualTo("Binary");
+    }
+
+    @Test
+    void getAll_negotiatesSmile() throws Exception {
+        TaskResponse task = new TaskResponse(1L, "Test", "Desc", TaskStatus.TODO, TaskPriority.MEDIUM, null, now, now, null, "user");
+        when(taskService.getAll(any(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(task)));
+
+        mockMvc.perform(get("/api/tasks").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"));
+    }
+
+    @Test
+    void getAll_passesDueDateFilters() throws Exception {
+        when(taskService.getAll(any(), any(Pageable.class))).thenReturn(Page.empty());
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("dueFrom", "2025-06-01")
+                        .param("dueTo", "2025-06-30")
+                        .param("overdue", "true"))
+                .andExpect(status().isOk());
+
+        verify(taskService).getAll(eq(new TaskFilter(null, null, null,
+                LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30), true, null)), any(Pageable.class));
+    }
+
+    @Test
+    void countOverdue_returnsSummary() throws Exception {
+        when(taskService.getOverdueSummary()).thenReturn(new OverdueSummary(3, LocalDate.of(2025, 6, 1)));
+
+        mockMvc.perform(get("/api/tasks/overdue/count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(3))
+                .andExpect(jsonPath("$.asOf").value("2025-06-01"));
+    }
+
+    @Test
+    @WithMockUser("alice")
+    void getMine_filtersByAuthenticatedOwner() throws Exception {
+        when(taskService.getAll(any(), any(Pageable.class))).thenReturn(Page.empty());
+
+        mockMvc.perform(get("/api/tasks/mine").param("status", "TODO"))
+                .andExpect(status().isOk());
+
+        verify(taskService).getAll(eq(TaskFilter.of(TaskStatus.TODO, null, null).withOwner("alice")),
+                any(Pageable.class));
+    }
+
+    @Test
+    void getMine_returns401WithoutAuth() throws Exception {
+        mockMvc.perform(get("/api/tasks/mine"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser("alice")
+    void getMyStats_returnsOwnersCounts() throws Exception {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        byStatus.put(TaskStatus.TODO, 2L);
+        byStatus.put(TaskStatus.IN_PROGRESS, 0L);
+        byStatus.put(TaskStatus.DONE, 1L);
+        when(taskService.getStats("alice"))
+                .thenReturn(new TaskStats("alice", 3, byStatus, 1, LocalDate.of(2025, 6, 1)));
+
+        mockMvc.perform(get("/api/tasks/mine/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.owner").value("alice"))
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byStatus.TODO").value(2))
+                .andExpect(jsonPath("$.overdue").value(1));
+    }
+
+    @Test
+    void getAll_archived_listsArchive() throws Exception {
+        TaskResponse task = new TaskResponse(4L, "Shipped", null, TaskStatus.DONE, TaskPriority.LOW, null, now, now, null, "user");
+        when(archivedTaskService.getAll(any(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(task)));
+
+        mockMvc.perform(get("/api/tasks").param("archived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Shipped"));
+    }
+
+    @Test
+    void getById_archived_fallsBackToArchive() throws Exception {
+        TaskResponse task = new TaskResponse(4L, "Shipped", null, TaskStatus.DONE, TaskPriority.LOW, null, now, now, null, "user");
+        when(taskService.getById(4L)).thenThrow(new EntityNotFoundException("Task not found with id: 4"));
+        when(archivedTaskService.getById(4L)).thenReturn(task);
+
+        mockMvc.perform(get("/api/tasks/4"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tasks/4").param("archived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Shipped"));
+    }
+
+    @Test
+    void getAll_withFields_serializesOnlyRequestedFields() throws Exception {
+        TaskResponse task = new TaskResponse(1L, "Sparse", null, TaskStatus.TODO, null, null, null, null, null, "user");
+        when(taskService.getAll(any(), eq(EnumSet.of(TaskField.ID, TaskField.TITLE, TaskField.STATUS)),
+                any(Pageable.class))).thenReturn(new PageImpl<>(List.of(task)));
+
+        mockMvc.perform(get("/api/tasks").param("fields", "id,title,status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Sparse"))
+                .andExpect(jsonPath("$.content[0].status").value("TODO"))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.content[0].createdAt").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void getById_withFields_serializesOnlyRequestedFields() throws Exception {
+        TaskResponse task = new TaskResponse(1L, null, null, null, null, null, now, null, null, "user");
+        when(taskService.getById(1L, EnumSet.of(TaskField.ID, TaskField.CREATED_AT))).thenReturn(task);
+
+        mockMvc.perform(get("/api/tasks/1").param("fields", "id,createdAt"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.createdAt").exists())
+                .andExpect(jsonPath("$.title").doesNotExist());
+    }
+
+    @Test
+    void getById_withUnknownField_returns400() throws Exception {
+        mockMvc.perform(get("/api/tasks/1").param("fields", "id,secret"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value 'id,secret' for parameter 'fields'"));
+    }
+
     @Test
     void getById_returns404WhenNotFound() throws Exception {
         when(taskService.getById(99L)).thenThrow(new EntityNotFoundException("Task not found with id: 99"));
@@ -84,12 +250,63 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.message").value("Task not found with id: 99"));
     }
 
+    @Test
+    void getById_returns410WhenIngestionDroppedTask() throws Exception {
+        when(taskService.getById(51L)).thenThrow(new TaskNotFoundException(51L));
+        when(taskIngestionService.isDropped(51L)).thenReturn(true);
+
+        mockMvc.perform(get("/api/tasks/51"))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.status").value(410));
+    }
+
+    @Test
+    void getById_negotiatesCborForNotFound() throws Exception {
+        when(taskService.getById(99L)).thenThrow(new TaskNotFoundException(99L));
+
+        byte[] body = mockMvc.perform(get("/api/tasks/99").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode decoded = new CBORMapper().readTree(body);
+        assertThat(decoded.get("message").asText()).isEqualTo("Task not found with id: 99");
+    }
+
+    @Test
+    void getById_negotiatesCborWhenPreferredOverWildcard() throws Exception {
+        when(taskService.getById(99L)).thenThrow(new TaskNotFoundException(99L));
+
+        mockMvc.perform(get("/api/tasks/99").accept("application/cbor, */*;q=0.1"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void getById_negotiatesCborWhenJsonIsRefused() throws Exception {
+        when(taskService.getById(99L)).thenThrow(new TaskNotFoundException(99L));
+
+        mockMvc.perform(get("/api/tasks/99").accept("application/json;q=0, application/cbor"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void getById_rendersJsonWhenPreferredByQuality() throws Exception {
+        when(taskService.getById(99L)).thenThrow(new TaskNotFoundException(99L));
+
+        mockMvc.perform(get("/api/tasks/99").accept("application/cbor;q=0.5, application/json"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("Task not found with id: 99"));
+    }
+
     @Test
     @WithMockUser
     void create_returns201WithLocation() throws Exception {
         CreateTaskRequest request = new CreateTaskRequest("New task", "Description", null, null, null);
-        TaskResponse response = new TaskResponse(1L, "New task", "Description", TaskStatus.TODO, TaskPriority.MEDIUM, null, now, now);
-        when(taskService.create(any(CreateTaskRequest.class))).thenReturn(response);
+        TaskResponse response = new TaskResponse(1L, "New task", "Description", TaskStatus.TODO, TaskPriority.MEDIUM, null, now, now, null, "user");
+        when(taskService.create(any(CreateTaskRequest.class), eq("user"))).thenReturn(response);
 
         mockMvc.perform(post("/api/tasks")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -111,6 +328,35 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.fieldErrors.title").exists());
     }
 
+    @Test
+    @WithMockUser
+    void createAsync_returns202WithLocation() throws Exception {
+        CreateTaskRequest request = new CreateTaskRequest("Queued", null, null, null, null);
+        TaskResponse response = new TaskResponse(51L, "Queued", null, TaskStatus.TODO, TaskPriority.MEDIUM, null, now, now, null, "user");
+        when(taskIngestionService.submit(any(CreateTaskRequest.class), eq("user"))).thenReturn(response);
+
+        mockMvc.perform(post("/api/tasks").param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/tasks/51"))
+                .andExpect(jsonPath("$.id").value(51));
+    }
+
+    @Test
+    @WithMockUser
+    void createAsync_returns429WhenQueueFull() throws Exception {
+        CreateTaskRequest request = new CreateTaskRequest("Queued", null, null, null, null);
+        when(taskIngestionService.submit(any(CreateTaskRequest.class), eq("user")))
+                .thenThrow(new IngestQueueFullException(10, Duration.ofSeconds(2)));
+
+        mockMvc.perform(post("/api/tasks").param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
     @Test
     void create_returns401WithoutAuth() throws Exception {
         CreateTaskRequest request = new CreateTaskRequest("Task", null, null, null, null);
@@ -124,8 +370,8 @@ class TaskControllerTest {
     @Test
     @WithMockUser
     void update_returnsUpdatedTask() throws Exception {
-        UpdateTaskRequest request = new UpdateTaskRequest("Updated", null, TaskStatus.DONE, null, null);
-        TaskResponse response = new TaskResponse(1L, "Updated", null, TaskStatus.DONE, TaskPriority.MEDIUM, null, now, now);
+        UpdateTaskRequest request = new UpdateTaskRequest("Updated", null, TaskStatus.DONE, null, null, null);
+        TaskResponse response = new TaskResponse(1L, "Updated", null, TaskStatus.DONE, TaskPriority.MEDIUM, null, now, now, null, "user");
         when(taskService.update(eq(1L), any(UpdateTaskRequest.class))).thenReturn(response);
 
         mockMvc.perform(put("/api/tasks/1")
@@ -136,6 +382,23 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.status").value("DONE"));
     }
 
+    @Test
+    @WithMockUser
+    void update_returns409WithCurrentStateWhenVersionIsStale() throws Exception {
+        UpdateTaskRequest request = new UpdateTaskRequest("Updated", null, null, null, null, 2L);
+        TaskResponse current = new TaskResponse(1L, "Theirs", null, TaskStatus.DONE, TaskPriority.MEDIUM, null, now, now, 3L, "user");
+        when(taskService.update(eq(1L), any(UpdateTaskRequest.class)))
+                .thenThrow(TaskConflictException.staleVersion(2L, current));
+
+        mockMvc.perform(put("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Task 1 is at version 3, not 2"))
+                .andExpect(jsonPath("$.current.title").value("Theirs"))
+                .andExpect(jsonPath("$.current.version").value(3));
+    }
+
     @Test
     @WithMockUser
     void delete_returns204() throws Exception {
@@ -0,0 +1,68 @@
+package com.devaloi.springapi.datasource;
+
+import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.service.TaskService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "tasks.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "tasks.datasource.replica.read-your-writes-window=1m",
+        "tasks.datasource.replica.h2-sync.enabled=true",
+        "tasks.datasource.replica.h2-sync.interval=1h"
+})
+class ReadWriteRoutingDataSourceTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private H2ReplicaSynchronizer synchronizer;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaUntilItCatchesUp() {
+        authenticate("alice");
+        TaskResponse created = taskService.create(new CreateTaskRequest("Replicated", null, null, null, null), "user");
+        SecurityContextHolder.clearContext();
+
+        assertThatThrownBy(() -> taskService.getById(created.id()))
+                .isInstanceOf(EntityNotFoundException.class);
+
+        synchronizer.sync();
+
+        assertThat(taskService.getById(created.id()).title()).isEqualTo("Replicated");
+    }
+
+    @Test
+    void writerReadsItsOwnWritesFromPrimary() {
+        authenticate("bob");
+        TaskResponse created = taskService.create(new CreateTaskRequest("Mine", null, null, null, null), "user");
+
+        assertThat(taskService.getById(created.id()).title()).isEqualTo("Mine");
+
+        authenticate("carol");
+        assertThatThrownBy(() -> taskService.getById(created.id()))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private void authenticate(String name) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(name, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+}
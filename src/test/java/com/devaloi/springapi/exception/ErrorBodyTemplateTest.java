@@ -0,0 +1,54 @@
+package com.devaloi.springapi.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.FieldError;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorBodyTemplateTest {
+
+    // Configured as Spring Boot configures the application's mapper.
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void render_matchesJacksonForPlainErrors() throws Exception {
+        ErrorBodyTemplate template = new ErrorBodyTemplate(HttpStatus.NOT_FOUND, "Not Found");
+        LocalDateTime timestamp = LocalDateTime.of(2025, 6, 1, 12, 30, 15, 120_000_000);
+        String message = "Task \"quoted\" not found — id: 7\n";
+
+        byte[] rendered = template.render(message, "/api/tasks/7", timestamp);
+
+        ErrorResponse expected = new ErrorResponse(404, "Not Found", message, "/api/tasks/7", timestamp, null);
+        assertThat(new String(rendered, StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(expected));
+    }
+
+    @Test
+    void render_matchesJacksonForFieldErrorsAndNullMessage() throws Exception {
+        ErrorBodyTemplate template = new ErrorBodyTemplate(HttpStatus.BAD_REQUEST, "Validation Failed");
+        LocalDateTime timestamp = LocalDateTime.of(2025, 6, 1, 12, 30);
+        List<FieldError> fieldErrors = List.of(
+                new FieldError("request", "title", "Title is required"),
+                new FieldError("request", "description", "Description must not exceed 2000 characters"),
+                new FieldError("request", "title", "Title must not exceed 255 characters"));
+
+        byte[] rendered = template.render(null, "/api/tasks", timestamp, fieldErrors);
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("description", "Description must not exceed 2000 characters");
+        fields.put("title", "Title must not exceed 255 characters");
+        ErrorResponse expected = new ErrorResponse(400, "Validation Failed", null, "/api/tasks", timestamp, fields);
+        assertThat(new String(rendered, StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(expected));
+    }
+}
@@ -0,0 +1,66 @@
+package com.devaloi.springapi.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquire_rejectsAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, TARGET, 0.5, clock::get);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(TARGET / 2);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void release_growsLimitWhileFastAndSaturated() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, TARGET, 0.5, clock::get);
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        limiter.release(TARGET / 2);
+
+        assertThat(limiter.limit()).isEqualTo(3);
+    }
+
+    @Test
+    void release_backsOffOncePerIntervalWhenSlow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, TARGET, 0.5, clock::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire();
+        }
+
+        limiter.release(TARGET * 2);
+        limiter.release(TARGET * 2);
+        assertThat(limiter.limit()).isEqualTo(4);
+
+        clock.addAndGet(TARGET);
+        limiter.release(TARGET * 2);
+        assertThat(limiter.limit()).isEqualTo(2);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void release_neverDropsBelowMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, 10, TARGET, 0.1, clock::get);
+        limiter.tryAcquire();
+
+        limiter.release(TARGET * 2);
+
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+}
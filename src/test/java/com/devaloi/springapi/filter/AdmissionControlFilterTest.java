@@ -0,0 +1,105 @@
+package com.devaloi.springapi.filter;
+
+import com.devaloi.springapi.config.AdmissionControlProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rateLimitedClientGets429WithRetryAfter() throws Exception {
+        AdmissionControlFilter filter = newFilter(1, 1, 4);
+
+        MockHttpServletResponse first = perform(filter, "GET", "/api/tasks", new MockFilterChain());
+        MockHttpServletResponse second = perform(filter, "GET", "/api/tasks", new MockFilterChain());
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(429);
+        assertThat(second.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(second.getContentAsString()).contains("\"status\":429");
+    }
+
+    @Test
+    void principalsHaveSeparateBuckets() throws Exception {
+        AdmissionControlFilter filter = newFilter(1, 1, 4);
+        authenticate("alice");
+        perform(filter, "POST", "/api/tasks", new MockFilterChain());
+        authenticate("bob");
+
+        MockHttpServletResponse response = perform(filter, "POST", "/api/tasks", new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void saturatedEndpointClassGets503() throws Exception {
+        AdmissionControlFilter filter = newFilter(1000, 1000, 1);
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        FilterChain reentrant = (request, response) ->
+                nested[0] = perform(filter, "GET", "/api/tasks/1", new MockFilterChain());
+
+        perform(filter, "GET", "/api/tasks", reentrant);
+        MockHttpServletResponse write = perform(filter, "DELETE", "/api/tasks/1", new MockFilterChain());
+
+        assertThat(nested[0].getStatus()).isEqualTo(503);
+        assertThat(nested[0].getHeader("Retry-After")).isEqualTo("2");
+        assertThat(write.getStatus()).isEqualTo(200);
+        assertThat(filter.readLimiter().inFlight()).isZero();
+    }
+
+    @Test
+    void nonApiPathsAreNotLimited() throws Exception {
+        AdmissionControlFilter filter = newFilter(1, 1, 1);
+        perform(filter, "GET", "/actuator/health", new MockFilterChain());
+
+        MockHttpServletResponse response = perform(filter, "GET", "/actuator/health", new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private AdmissionControlFilter newFilter(double rate, int burst, int concurrency) {
+        AdmissionControlProperties.Concurrency limits = new AdmissionControlProperties.Concurrency(
+                concurrency, 1, Math.max(concurrency, 4), Duration.ofMillis(100), 0.5, Duration.ofSeconds(2));
+        AdmissionControlProperties properties = new AdmissionControlProperties(
+                true, new AdmissionControlProperties.RateLimit(rate, burst, 100), limits, limits);
+        return new AdmissionControlFilter(properties, objectMapper, clock::get);
+    }
+
+    private void authenticate(String name) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(name, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private MockHttpServletResponse perform(AdmissionControlFilter filter, String method, String uri, FilterChain chain)
+            throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,86 @@
+package com.devaloi.springapi.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void tryAcquire_allowsBurstThenRejects() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 3, 100, clock::get);
+
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void tryAcquire_refillsAtConfiguredRate() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 1, 100, clock::get);
+
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertThat(limiter.tryAcquire("alice")).isZero();
+    }
+
+    @Test
+    void tryAcquire_isolatesClients() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 100, clock::get);
+
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+        assertThat(limiter.tryAcquire("bob")).isZero();
+    }
+
+    @Test
+    void tryAcquire_evictsIdleClientsWhenFull() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 1, 2, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.tryAcquire("c");
+
+        assertThat(limiter.trackedClients()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_sharesOverflowBucketWhenFullOfActiveClients() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 1, 2, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        assertThat(limiter.tryAcquire("c")).isZero();
+        assertThat(limiter.tryAcquire("d")).isPositive();
+        assertThat(limiter.trackedClients()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    void tryAcquire_sweepsAtMostOncePerRefillInterval() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 1, 2, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        limiter.tryAcquire("c");
+
+        // Both buckets refilled at 100ms, but the sweep for "c" at 50ms holds off the next until 150ms.
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(70));
+        limiter.tryAcquire("d");
+        assertThat(limiter.trackedClients()).isEqualTo(2);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(30));
+        limiter.tryAcquire("e");
+        assertThat(limiter.trackedClients()).isEqualTo(1);
+    }
+}
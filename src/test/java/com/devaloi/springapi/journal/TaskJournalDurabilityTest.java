@@ -0,0 +1,66 @@
+package com.devaloi.springapi.journal;
+
+import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.UpdateTaskRequest;
+import com.devaloi.springapi.service.TaskIngestionService;
+import com.devaloi.springapi.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:journal-durability;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "tasks.warmup.enabled=false",
+        "tasks.journal.enabled=true"
+})
+class TaskJournalDurabilityTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskIngestionService ingestionService;
+
+    @Autowired
+    private TaskJournal journal;
+
+    @DynamicPropertySource
+    static void journalDirectory(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("journal-durability");
+        registry.add("tasks.journal.directory", directory::toString);
+    }
+
+    @Test
+    void writes_returnOnlyOnceTheirEntriesAreDurable() {
+        long before = journal.durableSequence();
+
+        Long id = taskService.create(new CreateTaskRequest("Durable", null, null, null, null), "user").id();
+        assertThat(journal.durableSequence()).isEqualTo(before + 1);
+
+        taskService.update(id, new UpdateTaskRequest("Renamed", null, null, null, null, null));
+        taskService.delete(id);
+        assertThat(journal.durableSequence()).isEqualTo(before + 3);
+        assertThat(journal.pending()).isZero();
+    }
+
+    @Test
+    void ingestedBatch_isDurableWhenFlushReturns() {
+        long before = journal.durableSequence();
+        for (int i = 0; i < 5; i++) {
+            ingestionService.submit(new CreateTaskRequest("Ingested " + i, null, null, null, null), "user");
+        }
+
+        ingestionService.flush();
+
+        assertThat(journal.durableSequence()).isGreaterThanOrEqualTo(before + 5);
+        assertThat(journal.pending()).isZero();
+    }
+}
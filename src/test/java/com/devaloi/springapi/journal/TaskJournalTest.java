@@ -0,0 +1,228 @@
+package com.devaloi.springapi.journal;
+
+import com.devaloi.springapi.config.TaskJournalProperties;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import com.devaloi.springapi.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<TaskJournal> journalProvider;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(taskRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+    }
+
+    @Test
+    void restore_replaysJournalAcrossRestart() throws IOException {
+        TaskJournal journal = open(DataSize.ofMegabytes(1));
+        journal.append(TaskChangedEvent.created(task(1L, "First")));
+        journal.append(TaskChangedEvent.created(task(2L, "Second")));
+        journal.append(TaskChangedEvent.updated(task(1L, "First, renamed"), TaskStatus.IN_PROGRESS));
+        journal.append(TaskChangedEvent.deleted(2L));
+        journal.flush();
+        journal.stop();
+
+        TaskJournal reopened = open(DataSize.ofMegabytes(1));
+
+        assertThat(reopened.durableSequence()).isEqualTo(4);
+        assertThat(reopened.restore()).containsExactly(task(1L, "First, renamed"));
+        reopened.stop();
+    }
+
+    @Test
+    void snapshot_foldsSegmentsAndKeepsState() throws IOException {
+        TaskJournal journal = open(DataSize.ofBytes(1));
+        for (long id = 1; id <= 5; id++) {
+            journal.append(TaskChangedEvent.created(task(id, "Task " + id)));
+            journal.flush();
+        }
+        journal.append(TaskChangedEvent.deleted(3L));
+        journal.flush();
+
+        journal.snapshot();
+        journal.append(TaskChangedEvent.created(task(6L, "After snapshot")));
+        journal.flush();
+        journal.stop();
+
+        assertThat(files("snapshot-")).containsExactly("snapshot-00000000000000000006.snap");
+        assertThat(files("segment-")).hasSizeLessThanOrEqualTo(2);
+        TaskJournal reopened = open(DataSize.ofBytes(1));
+        assertThat(reopened.restore()).extracting(TaskResponse::id).containsExactlyInAnyOrder(1L, 2L, 4L, 5L, 6L);
+        reopened.stop();
+    }
+
+    @Test
+    void recovery_discardsTornTailAndKeepsAppending() throws IOException {
+        TaskJournal journal = open(DataSize.ofMegabytes(1));
+        journal.append(TaskChangedEvent.created(task(1L, "Survivor")));
+        journal.flush();
+        journal.stop();
+        Path segment = directory.resolve(files("segment-").get(0));
+        Files.write(segment, new byte[] {0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        TaskJournal recovered = open(DataSize.ofMegabytes(1));
+        recovered.append(TaskChangedEvent.created(task(2L, "Next")));
+        recovered.flush();
+        recovered.stop();
+
+        TaskJournal reopened = open(DataSize.ofMegabytes(1));
+        assertThat(reopened.durableSequence()).isEqualTo(2);
+        assertThat(reopened.restore()).extracting(TaskResponse::title).containsExactlyInAnyOrder("Survivor", "Next");
+        reopened.stop();
+    }
+
+    @Test
+    void firstStart_seedsSnapshotFromDatabase() throws IOException {
+        Task existing = new Task();
+        existing.setId(9L);
+        existing.setTitle("Already there");
+        existing.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0));
+        existing.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 9, 0));
+        when(taskRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(existing)));
+
+        TaskJournal journal = open(DataSize.ofMegabytes(1));
+
+        assertThat(journal.restore()).extracting(TaskResponse::title).containsExactly("Already there");
+        journal.stop();
+    }
+
+    @Test
+    void onTaskChanged_inTransaction_waitsOnceAfterAllChangesAreQueued() throws IOException {
+        TaskJournal journal = open(DataSize.ofMegabytes(1));
+        TaskChangedEvent first = TaskChangedEvent.created(task(1L, "First"));
+        TaskChangedEvent second = TaskChangedEvent.created(task(2L, "Second"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            journal.awaitDurableAfterCommit(first);
+            journal.awaitDurableAfterCommit(second);
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertThat(synchronizations).hasSize(1);
+
+            journal.onTaskChanged(first);
+            journal.onTaskChanged(second);
+            assertThat(journal.pending()).isEqualTo(2);
+            assertThat(journal.durableSequence()).isZero();
+
+            synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            assertThat(journal.pending()).isZero();
+            assertThat(journal.durableSequence()).isEqualTo(2);
+            assertThat(TransactionSynchronizationManager.hasResource(journal)).isFalse();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            journal.stop();
+        }
+    }
+
+    @Test
+    void failedWrite_isRetriedAndReportedUntilItSucceeds() throws Exception {
+        TaskJournal journal = open(DataSize.ofMegabytes(1));
+        when(journalProvider.getIfAvailable()).thenReturn(journal);
+        TaskJournalHealthIndicator health = new TaskJournalHealthIndicator(journalProvider);
+        // Stopping closes the segment, so the next write fails until start() reopens it.
+        journal.stop();
+
+        CompletableFuture<Long> durable = journal.append(TaskChangedEvent.created(task(1L, "Kept")));
+
+        assertThatThrownBy(journal::flush).isInstanceOf(UncheckedIOException.class);
+        assertThat(durable).isNotDone();
+        assertThat(journal.pending()).isOne();
+        assertThat(health.health().getStatus()).isEqualTo(Status.DOWN);
+
+        journal.start();
+
+        assertThat(durable.get(5, TimeUnit.SECONDS)).isEqualTo(1L);
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+        journal.stop();
+        TaskJournal reopened = open(DataSize.ofMegabytes(1));
+        assertThat(reopened.restore()).containsExactly(task(1L, "Kept"));
+        reopened.stop();
+    }
+
+    @Test
+    void readTask_withoutOwnerTrailer_assignsSystemOwner() {
+        TaskResponse task = task(3L, "Written before owners");
+        ByteBuffer buffer = ByteBuffer.allocate(JournalCodec.taskSize(task));
+        JournalCodec.writeTask(buffer, task);
+        int ownerBytes = Integer.BYTES + task.owner().length();
+        buffer.flip();
+
+        TaskResponse read = JournalCodec.readTask(buffer, buffer.limit() - ownerBytes);
+
+        assertThat(read).isEqualTo(new TaskResponse(task.id(), task.title(), task.description(), task.status(),
+                task.priority(), task.dueDate(), task.createdAt(), task.updatedAt(), task.version(),
+                Task.SYSTEM_OWNER));
+    }
+
+    private TaskJournal open(DataSize segmentSize) throws IOException {
+        TaskJournalProperties properties = new TaskJournalProperties(true, directory, segmentSize, Duration.ofHours(1),
+                Duration.ofSeconds(5));
+        TaskJournal journal = new TaskJournal(properties, taskRepository, transactionManager, new SimpleMeterRegistry());
+        journal.afterPropertiesSet();
+        return journal;
+    }
+
+    private List<String> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).filter(name -> name.startsWith(prefix))
+                    .sorted().toList();
+        }
+    }
+
+    private static TaskResponse task(Long id, String title) {
+        LocalDateTime created = LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123_456_789);
+        return new TaskResponse(id, title, "Ünïcödé 🚀", TaskStatus.IN_PROGRESS, TaskPriority.HIGH,
+                LocalDate.of(2025, 7, 1), created, created.plusMinutes(id), id + 2, "user");
+    }
+}
@@ -0,0 +1,127 @@
+package com.devaloi.springapi.repository;
+
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "tasks.warmup.enabled=false"
+})
+class ReactiveTaskRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @Autowired
+    private ReactiveTaskRepository reactiveRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void insert_sharesTableAndSequenceWithJpa() {
+        Task first = reactiveRepository.insert(task("Reactive one", TaskStatus.TODO, null)).block();
+        Task second = reactiveRepository.insert(task("Reactive two", TaskStatus.TODO, null)).block();
+        Task viaJpa = taskRepository.save(task("Blocking", TaskStatus.TODO, null));
+
+        assertThat(second.getId()).isEqualTo(first.getId() + 1);
+        assertThat(viaJpa.getId()).isNotIn(first.getId(), second.getId());
+        assertThat(taskRepository.findById(first.getId())).get()
+                .extracting(Task::getTitle).isEqualTo("Reactive one");
+        StepVerifier.create(reactiveRepository.findById(viaJpa.getId()))
+                .assertNext(task -> assertThat(task.getTitle()).isEqualTo("Blocking"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findFiltered_appliesFilterSortAndPage() {
+        taskRepository.save(task("Late", TaskStatus.TODO, TODAY.minusDays(3)));
+        taskRepository.save(task("Later", TaskStatus.IN_PROGRESS, TODAY.minusDays(1)));
+        taskRepository.save(task("Late but done", TaskStatus.DONE, TODAY.minusDays(2)));
+        taskRepository.save(task("Upcoming", TaskStatus.TODO, TODAY.plusDays(1)));
+        TaskFilter overdue = new TaskFilter(null, null, "LATE", null, null, true, null);
+
+        StepVerifier.create(reactiveRepository.findFiltered(overdue, TODAY, PageRequest.of(0, 10, Sort.by("dueDate"))))
+                .assertNext(task -> assertThat(task.getTitle()).isEqualTo("Late"))
+                .assertNext(task -> assertThat(task.getTitle()).isEqualTo("Later"))
+                .verifyComplete();
+        StepVerifier.create(reactiveRepository.findFiltered(TaskFilter.NONE, TODAY,
+                        PageRequest.of(1, 3, Sort.by(Sort.Direction.DESC, "dueDate"))))
+                .assertNext(task -> assertThat(task.getTitle()).isEqualTo("Late"))
+                .verifyComplete();
+    }
+
+    @Test
+    void inTransaction_rollsBackOnError() {
+        Task saved = taskRepository.save(task("Original", TaskStatus.TODO, null));
+        saved.setTitle("Changed");
+
+        Mono<Boolean> failing = reactiveRepository.update(saved)
+                .then(Mono.error(new IllegalStateException("boom")));
+        StepVerifier.create(reactiveRepository.inTransaction(failing)).verifyError(IllegalStateException.class);
+
+        assertThat(taskRepository.findById(saved.getId())).get().extracting(Task::getTitle).isEqualTo("Original");
+        StepVerifier.create(reactiveRepository.deleteById(saved.getId())).expectNext(true).verifyComplete();
+        StepVerifier.create(reactiveRepository.deleteById(saved.getId())).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    void update_appliesOnlyAtTheReadVersion() {
+        Task saved = taskRepository.save(task("Original", TaskStatus.TODO, null));
+        Task first = reactiveRepository.findById(saved.getId()).block();
+        Task second = reactiveRepository.findById(saved.getId()).block();
+        first.setTitle("First writer");
+        second.setTitle("Second writer");
+
+        StepVerifier.create(reactiveRepository.update(first)).expectNext(true).verifyComplete();
+        StepVerifier.create(reactiveRepository.update(second)).expectNext(false).verifyComplete();
+
+        assertThat(first.getVersion()).isEqualTo(saved.getVersion() + 1);
+        assertThat(taskRepository.findById(saved.getId())).get()
+                .satisfies(task -> assertThat(task.getTitle()).isEqualTo("First writer"))
+                .extracting(Task::getVersion).isEqualTo(first.getVersion());
+    }
+
+    @Test
+    void statements_runOffTheSubscribingThread() {
+        Task saved = taskRepository.save(task("Elsewhere", TaskStatus.TODO, null));
+
+        Thread lookup = reactiveRepository.findById(saved.getId()).map(task -> Thread.currentThread()).block();
+        Thread list = reactiveRepository.findFiltered(TaskFilter.NONE, TODAY, PageRequest.of(0, 10))
+                .map(task -> Thread.currentThread()).blockFirst();
+
+        assertThat(lookup).isNotSameAs(Thread.currentThread());
+        assertThat(lookup.getName()).startsWith("boundedElastic");
+        assertThat(list.getName()).startsWith("boundedElastic");
+    }
+
+    private static Task task(String title, TaskStatus status, LocalDate dueDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(status);
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setDueDate(dueDate);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUpdatedAt(LocalDateTime.now());
+        return task;
+    }
+}
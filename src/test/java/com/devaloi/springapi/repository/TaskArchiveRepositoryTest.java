@@ -0,0 +1,85 @@
+package com.devaloi.springapi.repository;
+
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.entity.ArchivedTask;
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({TaskArchiveRepository.class, TaskBatchRepository.class})
+class TaskArchiveRepositoryTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskArchiveRepository archiveRepository;
+
+    @Autowired
+    private TaskBatchRepository batchRepository;
+
+    @Test
+    void findArchivable_pagesOldCompletedTasksById() {
+        long first = batchRepository.nextIdBlock();
+        batchRepository.insertAll(List.of(
+                task(first, TaskStatus.DONE, CUTOFF.minusDays(3)),
+                task(first + 1, TaskStatus.TODO, CUTOFF.minusDays(3)),
+                task(first + 2, TaskStatus.DONE, CUTOFF.plusDays(1)),
+                task(first + 3, TaskStatus.DONE, CUTOFF.minusDays(1)),
+                task(first + 4, TaskStatus.DONE, CUTOFF.minusDays(2))));
+
+        assertThat(archiveRepository.findArchivable(CUTOFF, 0, 2)).containsExactly(first, first + 3);
+        assertThat(archiveRepository.findArchivable(CUTOFF, first + 3, 2)).containsExactly(first + 4);
+    }
+
+    @Test
+    void archive_movesRowsThatStillQualify() {
+        long first = batchRepository.nextIdBlock();
+        batchRepository.insertAll(List.of(
+                task(first, TaskStatus.DONE, CUTOFF.minusDays(3)),
+                task(first + 1, TaskStatus.IN_PROGRESS, CUTOFF.minusDays(3))));
+        LocalDateTime now = CUTOFF.plusDays(30);
+
+        List<Long> moved = archiveRepository.archive(List.of(first, first + 1), CUTOFF, now);
+
+        assertThat(moved).containsExactly(first);
+        assertThat(taskRepository.findById(first)).isEmpty();
+        assertThat(taskRepository.findById(first + 1)).isPresent();
+        ArchivedTask archived = archivedTaskRepository.findById(first).orElseThrow();
+        assertThat(archived.getTitle()).isEqualTo("Task " + first);
+        assertThat(archived.getDueDate()).isEqualTo(LocalDate.of(2025, 5, 1));
+        assertThat(archived.getUpdatedAt()).isEqualTo(CUTOFF.minusDays(3));
+        assertThat(archived.getArchivedAt()).isEqualTo(now);
+        assertThat(archivedTaskRepository.findFiltered(TaskFilter.of(null, null, "task"), LocalDate.now(),
+                PageRequest.of(0, 10)).getTotalElements()).isOne();
+    }
+
+    private static Task task(long id, TaskStatus status, LocalDateTime updatedAt) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setStatus(status);
+        task.setPriority(TaskPriority.LOW);
+        task.setDueDate(LocalDate.of(2025, 5, 1));
+        task.setCreatedAt(updatedAt.minusDays(10));
+        task.setUpdatedAt(updatedAt);
+        return task;
+    }
+}
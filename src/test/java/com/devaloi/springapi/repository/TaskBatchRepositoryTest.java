@@ -0,0 +1,62 @@
+package com.devaloi.springapi.repository;
+
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(TaskBatchRepository.class)
+class TaskBatchRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskBatchRepository batchRepository;
+
+    @Test
+    void insertAll_usesIdsDisjointFromHibernateAllocations() {
+        Task before = taskRepository.save(newTask("Via JPA before"));
+
+        long blockStart = batchRepository.nextIdBlock();
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < Task.ID_ALLOCATION_SIZE; i++) {
+            Task task = newTask("Batch " + i);
+            task.setId(blockStart + i);
+            task.setCreatedAt(LocalDateTime.now());
+            task.setUpdatedAt(LocalDateTime.now());
+            batch.add(task);
+        }
+        batchRepository.insertAll(batch);
+
+        List<Task> afterTasks = new ArrayList<>();
+        for (int i = 0; i < Task.ID_ALLOCATION_SIZE + 1; i++) {
+            afterTasks.add(taskRepository.save(newTask("Via JPA after " + i)));
+        }
+        taskRepository.flush();
+
+        List<Long> batchIds = batch.stream().map(Task::getId).toList();
+        assertThat(batchIds).doesNotContain(before.getId());
+        assertThat(afterTasks).extracting(Task::getId).doesNotContainAnyElementsOf(batchIds);
+        assertThat(taskRepository.count()).isEqualTo(2L * Task.ID_ALLOCATION_SIZE + 2);
+        assertThat(taskRepository.findById(blockStart)).get().extracting(Task::getTitle).isEqualTo("Batch 0");
+    }
+
+    private Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.TODO);
+        task.setPriority(TaskPriority.MEDIUM);
+        return task;
+    }
+}
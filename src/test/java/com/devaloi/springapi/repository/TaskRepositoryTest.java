@@ -1,16 +1,26 @@
 package com.devaloi.springapi.repository;
 
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
 import com.devaloi.springapi.entity.Task;
 import com.devaloi.springapi.entity.TaskPriority;
 import com.devaloi.springapi.entity.TaskStatus;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 class TaskRepositoryTest {
@@ -76,6 +86,101 @@ class TaskRepositoryTest {
         assertThat(result.getTotalElements()).isEqualTo(3);
     }
 
+    @Test
+    void findProjected_selectsOnlyRequestedFields() {
+        Page<Tuple> result = taskRepository.findProjected(
+                TaskFilter.of(TaskStatus.TODO, null, null), LocalDate.now(), EnumSet.of(TaskField.ID, TaskField.TITLE),
+                PageRequest.of(0, 10, Sort.by("title")));
+
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        Tuple first = result.getContent().get(0);
+        assertThat(first.getElements()).hasSize(2);
+        assertThat(first.get("title")).isEqualTo("Deploy application");
+        assertThat(first.get("id")).isNotNull();
+    }
+
+    @Test
+    void findFiltered_byDueRangeAndOverdue() {
+        LocalDate today = LocalDate.of(2025, 6, 10);
+        saveDue("Late", TaskStatus.TODO, LocalDate.of(2025, 6, 1));
+        saveDue("Late but done", TaskStatus.DONE, LocalDate.of(2025, 6, 2));
+        saveDue("Due today", TaskStatus.IN_PROGRESS, today);
+        saveDue("Next month", TaskStatus.TODO, LocalDate.of(2025, 7, 1));
+
+        Page<Task> june = taskRepository.findFiltered(new TaskFilter(null, null, null,
+                LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30), null, null), today, PageRequest.of(0, 10));
+        Page<Task> overdue = taskRepository.findFiltered(new TaskFilter(null, null, null, null, null, true, null),
+                today, PageRequest.of(0, 10));
+        Page<Task> notOverdue = taskRepository.findFiltered(new TaskFilter(null, null, null, null, null, false, null),
+                today, PageRequest.of(0, 10));
+
+        assertThat(june.getContent()).extracting(Task::getTitle)
+                .containsExactlyInAnyOrder("Late", "Late but done", "Due today");
+        assertThat(overdue.getContent()).extracting(Task::getTitle).containsExactly("Late");
+        assertThat(notOverdue.getTotalElements()).isEqualTo(6);
+    }
+
+    @Test
+    void findFiltered_byOwner_returnsOnlyThatOwnersTasks() {
+        saveOwned("Alice todo", "alice", TaskStatus.TODO, null);
+        saveOwned("Alice done", "alice", TaskStatus.DONE, null);
+        saveOwned("Bob todo", "bob", TaskStatus.TODO, null);
+
+        Page<Task> all = taskRepository.findFiltered(TaskFilter.NONE.withOwner("alice"), LocalDate.now(),
+                PageRequest.of(0, 10));
+        Page<Task> todo = taskRepository.findFiltered(TaskFilter.of(TaskStatus.TODO, null, null).withOwner("alice"),
+                LocalDate.now(), PageRequest.of(0, 10));
+
+        assertThat(all.getContent()).extracting(Task::getTitle).containsExactlyInAnyOrder("Alice todo", "Alice done");
+        assertThat(todo.getContent()).extracting(Task::getTitle).containsExactly("Alice todo");
+    }
+
+    @Test
+    void countForOwner_groupsByStatusAndCountsOverdue() {
+        LocalDate today = LocalDate.of(2025, 6, 10);
+        saveOwned("Late", "alice", TaskStatus.TODO, LocalDate.of(2025, 6, 1));
+        saveOwned("Late but done", "alice", TaskStatus.DONE, LocalDate.of(2025, 6, 1));
+        saveOwned("Upcoming", "alice", TaskStatus.TODO, LocalDate.of(2025, 7, 1));
+        saveOwned("Someone else's", "bob", TaskStatus.TODO, LocalDate.of(2025, 6, 1));
+
+        List<TaskRepository.StatusCount> counts = taskRepository.countByStatusForOwner("alice");
+
+        assertThat(counts).extracting(TaskRepository.StatusCount::getStatus, TaskRepository.StatusCount::getCount)
+                .containsExactlyInAnyOrder(tuple(TaskStatus.TODO, 2L), tuple(TaskStatus.DONE, 1L));
+        assertThat(taskRepository.countOverdueForOwner("alice", today)).isEqualTo(1);
+        assertThat(taskRepository.countByStatusForOwner("carol")).isEmpty();
+    }
+
+    @Test
+    void save_defaultsOwnerToSystem() {
+        Task task = new Task();
+        task.setTitle("Unowned");
+        assertThat(taskRepository.save(task).getOwner()).isEqualTo(Task.SYSTEM_OWNER);
+    }
+
+    @Test
+    void findOpenDueDates_skipsDoneAndUndatedTasks() {
+        saveDue("Open", TaskStatus.TODO, LocalDate.of(2025, 6, 1));
+        saveDue("Done", TaskStatus.DONE, LocalDate.of(2025, 6, 1));
+
+        List<TaskRepository.OpenDueDate> result = taskRepository.findOpenDueDates();
+
+        assertThat(result).extracting(TaskRepository.OpenDueDate::getDueDate)
+                .containsExactly(LocalDate.of(2025, 6, 1));
+    }
+
+    @Test
+    void findProjectedById_returnsRequestedFields() {
+        Long id = taskRepository.findWithFilters(null, TaskPriority.HIGH, null, PageRequest.of(0, 1))
+                .getContent().get(0).getId();
+
+        Optional<Tuple> result = taskRepository.findProjectedById(id, EnumSet.of(TaskField.STATUS));
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getElements()).hasSize(1);
+        assertThat(result.get().get("status")).isEqualTo(TaskStatus.IN_PROGRESS);
+    }
+
     @Test
     void save_setsTimestamps() {
         Task task = new Task();
@@ -84,4 +189,21 @@ class TaskRepositoryTest {
         assertThat(saved.getCreatedAt()).isNotNull();
         assertThat(saved.getUpdatedAt()).isNotNull();
     }
+
+    private void saveOwned(String title, String owner, TaskStatus status, LocalDate dueDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setOwner(owner);
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        taskRepository.save(task);
+    }
+
+    private void saveDue(String title, TaskStatus status, LocalDate dueDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        taskRepository.save(task);
+    }
 }
@@ -0,0 +1,132 @@
+package com.devaloi.springapi.service;
+
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import com.devaloi.springapi.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 10);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MutableClock clock = new MutableClock(TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC));
+
+    private SimpleMeterRegistry meterRegistry;
+    private OverdueIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new OverdueIndex(taskRepository, transactionManager, meterRegistry, clock);
+    }
+
+    @Test
+    void load_tracksOnlyPastDueTasksAsOverdue() {
+        when(taskRepository.findOpenDueDates()).thenReturn(List.of(
+                row(1L, TODAY.minusDays(5)), row(2L, TODAY.minusDays(1)), row(3L, TODAY)));
+
+        index.load();
+
+        assertThat(index.count()).isEqualTo(2);
+        assertThat(index.ids(0, 10, false)).containsExactly(1L, 2L);
+        assertThat(index.ids(1, 10, true)).containsExactly(1L);
+        assertThat(meterRegistry.get("tasks.overdue").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void onTaskChanged_followsStatusAndDueDate() {
+        index.onTaskChanged(TaskChangedEvent.created(task(1L, TaskStatus.TODO, TODAY.minusDays(2))));
+        index.onTaskChanged(TaskChangedEvent.created(task(2L, TaskStatus.TODO, TODAY.minusDays(1))));
+        index.onTaskChanged(TaskChangedEvent.updated(task(1L, TaskStatus.TODO, TODAY.plusDays(1)), TaskStatus.TODO));
+        index.onTaskChanged(TaskChangedEvent.created(task(3L, TaskStatus.TODO, TODAY.minusDays(3))));
+        index.onTaskChanged(TaskChangedEvent.updated(task(3L, TaskStatus.DONE, TODAY.minusDays(3)), TaskStatus.TODO));
+        index.onTaskChanged(TaskChangedEvent.created(task(4L, TaskStatus.TODO, TODAY.minusDays(4))));
+        index.onTaskChanged(TaskChangedEvent.deleted(4L));
+
+        assertThat(index.ids(0, 10, false)).containsExactly(2L);
+        assertThat(index.count()).isOne();
+    }
+
+    @Test
+    void rollover_movesTasksThatBecameOverdue() {
+        index.onTaskChanged(TaskChangedEvent.created(task(1L, TaskStatus.TODO, TODAY)));
+        index.onTaskChanged(TaskChangedEvent.created(task(2L, TaskStatus.TODO, TODAY.plusDays(1))));
+        index.onTaskChanged(TaskChangedEvent.created(task(3L, TaskStatus.TODO, TODAY.plusDays(5))));
+        assertThat(index.count()).isZero();
+
+        clock.instant = TODAY.plusDays(2).atStartOfDay().toInstant(ZoneOffset.UTC);
+
+        assertThat(index.today()).isEqualTo(TODAY.plusDays(2));
+        assertThat(index.ids(0, 10, false)).containsExactly(1L, 2L);
+        assertThat(index.count()).isEqualTo(2);
+    }
+
+    private static TaskRepository.OpenDueDate row(Long id, LocalDate dueDate) {
+        return new TaskRepository.OpenDueDate() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDate getDueDate() {
+                return dueDate;
+            }
+        };
+    }
+
+    private static TaskResponse task(Long id, TaskStatus status, LocalDate dueDate) {
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 9, 0);
+        return new TaskResponse(id, "Task " + id, null, status, TaskPriority.MEDIUM, dueDate, now, now, null, "user");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
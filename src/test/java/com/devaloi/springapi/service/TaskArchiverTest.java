@@ -0,0 +1,76 @@
+package com.devaloi.springapi.service;
+
+import com.devaloi.springapi.config.TaskArchiveProperties;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import com.devaloi.springapi.repository.TaskArchiveRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskArchiverTest {
+
+    @Mock
+    private TaskArchiveRepository archiveRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void archive_walksBatchesUntilExhaustedAndPublishesDeletions() {
+        TaskArchiveProperties properties = new TaskArchiveProperties(true, Duration.ofDays(30), 2,
+                Duration.ZERO, Duration.ofHours(1));
+        TaskArchiver archiver = new TaskArchiver(properties, archiveRepository, transactionManager, eventPublisher,
+                new SimpleMeterRegistry());
+        when(archiveRepository.findArchivable(any(), eq(0L), eq(2))).thenReturn(List.of(3L, 8L));
+        when(archiveRepository.findArchivable(any(), eq(8L), eq(2))).thenReturn(List.of(9L));
+        when(archiveRepository.archive(eq(List.of(3L, 8L)), any(), any())).thenReturn(List.of(3L, 8L));
+        // Task 9 was reopened between the scan and the move.
+        when(archiveRepository.archive(eq(List.of(9L)), any(), any())).thenReturn(List.of());
+
+        long moved = archiver.archive();
+
+        assertThat(moved).isEqualTo(2);
+        ArgumentCaptor<TaskChangedEvent> events = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(TaskChangedEvent::taskId).containsExactly(3L, 8L);
+        assertThat(events.getAllValues()).extracting(TaskChangedEvent::type)
+                .containsOnly(TaskChangedEvent.Type.DELETED);
+    }
+
+    @Test
+    void archive_usesMinAgeAsCutoff() {
+        TaskArchiveProperties properties = new TaskArchiveProperties(true, Duration.ofDays(7), 100,
+                Duration.ZERO, Duration.ofHours(1));
+        TaskArchiver archiver = new TaskArchiver(properties, archiveRepository, transactionManager, eventPublisher,
+                new SimpleMeterRegistry());
+        when(archiveRepository.findArchivable(any(), anyLong(), eq(100))).thenReturn(List.of());
+
+        assertThat(archiver.archive()).isZero();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(archiveRepository).findArchivable(cutoff.capture(), eq(0L), eq(100));
+        assertThat(cutoff.getValue()).isBetween(LocalDateTime.now().minusDays(7).minusMinutes(1),
+                LocalDateTime.now().minusDays(7));
+    }
+}
@@ -0,0 +1,205 @@
+package com.devaloi.springapi.service;
+
+import com.devaloi.springapi.config.TaskIngestProperties;
+import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import com.devaloi.springapi.exception.IngestQueueFullException;
+import com.devaloi.springapi.repository.TaskBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskIngestionServiceTest {
+
+    @Mock
+    private TaskBatchRepository batchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TaskIngestionService ingestionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ingestionService = service(Duration.ofSeconds(5));
+    }
+
+    private TaskIngestionService service(Duration shutdownTimeout) {
+        TaskIngestProperties properties = new TaskIngestProperties(
+                3, 2, Duration.ofMillis(10), Duration.ofSeconds(1), 2, shutdownTimeout);
+        return new TaskIngestionService(batchRepository, transactionManager, properties, eventPublisher, meterRegistry);
+    }
+
+    @Test
+    void submit_allocatesIdsFromSequenceBlock() {
+        when(batchRepository.nextIdBlock()).thenReturn(101L);
+
+        TaskResponse first = ingestionService.submit(new CreateTaskRequest("First", null, null, null, null), "user");
+        TaskResponse second = ingestionService.submit(new CreateTaskRequest("Second", null, TaskStatus.DONE, TaskPriority.HIGH, null), "user");
+
+        assertThat(first.id()).isEqualTo(101L);
+        assertThat(first.status()).isEqualTo(TaskStatus.TODO);
+        assertThat(first.priority()).isEqualTo(TaskPriority.MEDIUM);
+        assertThat(first.createdAt()).isNotNull();
+        assertThat(second.id()).isEqualTo(102L);
+        assertThat(ingestionService.queueDepth()).isEqualTo(2);
+        verify(batchRepository, times(1)).nextIdBlock();
+    }
+
+    @Test
+    void submit_rejectsWhenQueueFull() {
+        when(batchRepository.nextIdBlock()).thenReturn(1L);
+        for (int i = 0; i < 3; i++) {
+            ingestionService.submit(new CreateTaskRequest("Task " + i, null, null, null, null), "user");
+        }
+
+        assertThatThrownBy(() -> ingestionService.submit(new CreateTaskRequest("Overflow", null, null, null, null), "user"))
+                .isInstanceOf(IngestQueueFullException.class);
+        assertThat(meterRegistry.counter("tasks.ingest.rejected").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("tasks.ingest.queue.depth").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void submit_releasesSlotWhenIdAllocationFails() {
+        when(batchRepository.nextIdBlock()).thenThrow(new DataIntegrityViolationException("sequence"));
+
+        assertThatThrownBy(() -> ingestionService.submit(new CreateTaskRequest("Task", null, null, null, null), "user"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(ingestionService.queueDepth()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_commitsQueuedTasksInBatches() {
+        when(batchRepository.nextIdBlock()).thenReturn(1L);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        for (int i = 0; i < 3; i++) {
+            ingestionService.submit(new CreateTaskRequest("Task " + i, null, null, null, null), "user");
+        }
+
+        ingestionService.flush();
+
+        ArgumentCaptor<List<Task>> batches = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository, times(2)).insertAll(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        assertThat(ingestionService.queueDepth()).isZero();
+        assertThat(meterRegistry.timer("tasks.ingest.commit").count()).isEqualTo(2);
+    }
+
+    @Test
+    void flush_retriesIndividuallyWhenBatchFails() {
+        when(batchRepository.nextIdBlock()).thenReturn(1L);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ingestionService.submit(new CreateTaskRequest("Good", null, null, null, null), "user");
+        ingestionService.submit(new CreateTaskRequest("Bad", null, null, null, null), "user");
+        doThrow(new DataIntegrityViolationException("batch")).when(batchRepository).insertAll(anyList());
+        doNothing().when(batchRepository).insertAll(argThat(
+                tasks -> tasks.size() == 1 && tasks.get(0).getTitle().equals("Good")));
+
+        ingestionService.flush();
+
+        // The batch, each task on its own, then the failing task's second and last attempt.
+        verify(batchRepository, times(4)).insertAll(anyList());
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+        assertThat(meterRegistry.counter("tasks.ingest.failed").count()).isEqualTo(1.0);
+        assertThat(ingestionService.isDropped(2L)).isTrue();
+        assertThat(ingestionService.isDropped(1L)).isFalse();
+        assertThat(ingestionService.queueDepth()).isZero();
+    }
+
+    @Test
+    void flush_requeuesTaskAfterTransientFailure() {
+        when(batchRepository.nextIdBlock()).thenReturn(1L);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ingestionService.submit(new CreateTaskRequest("Flaky", null, null, null, null), "user");
+        doThrow(new CannotGetJdbcConnectionException("down")).doNothing().when(batchRepository).insertAll(anyList());
+
+        ingestionService.flush();
+
+        verify(batchRepository, times(2)).insertAll(anyList());
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+        assertThat(meterRegistry.counter("tasks.ingest.failed").count()).isZero();
+        assertThat(ingestionService.isDropped(1L)).isFalse();
+    }
+
+    @Test
+    void stop_drainsQueuedTasksBeforeReturning() {
+        when(batchRepository.nextIdBlock()).thenReturn(1L);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        for (int i = 0; i < 3; i++) {
+            ingestionService.submit(new CreateTaskRequest("Task " + i, null, null, null, null), "user");
+        }
+
+        ingestionService.start();
+        ingestionService.stop();
+
+        verify(eventPublisher, times(3)).publishEvent(any(TaskChangedEvent.class));
+        assertThat(ingestionService.queueDepth()).isZero();
+        assertThat(meterRegistry.counter("tasks.ingest.abandoned").count()).isZero();
+    }
+
+    @Test
+    void stop_countsTasksStillQueuedWhenDrainTimesOut() throws InterruptedException {
+        TaskIngestionService slow = service(Duration.ofMillis(50));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchRepository.nextIdBlock()).thenReturn(1L);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(batchRepository).insertAll(anyList());
+        for (int i = 0; i < 3; i++) {
+            slow.submit(new CreateTaskRequest("Task " + i, null, null, null, null), "user");
+        }
+
+        try {
+            slow.start();
+            assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+            slow.stop();
+
+            // The first batch of two is being written; the third task never left the queue.
+            assertThat(meterRegistry.counter("tasks.ingest.abandoned").count()).isEqualTo(1.0);
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.devaloi.springapi.service;
+
+import com.devaloi.springapi.config.ReplicaDataSourceProperties;
+import com.devaloi.springapi.config.TaskListCacheProperties;
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskListCacheTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+    private static final TaskFilter TODO = TaskFilter.of(TaskStatus.TODO, null, null);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_servesRepeatsUntilAWriteTouchesTheFilteredStatus() {
+        TaskListCache cache = cache(100, null);
+
+        get(cache, TODO);
+        get(cache, TODO);
+        get(cache, TaskFilter.NONE);
+        assertThat(loads).hasValue(2);
+
+        cache.onTaskChanged(TaskChangedEvent.updated(task(1L, TaskStatus.DONE), TaskStatus.IN_PROGRESS));
+        get(cache, TODO);
+        assertThat(loads).hasValue(2);
+        get(cache, TaskFilter.NONE);
+        assertThat(loads).hasValue(3);
+
+        cache.onTaskChanged(TaskChangedEvent.updated(task(2L, TaskStatus.DONE), TaskStatus.TODO));
+        get(cache, TODO);
+        assertThat(loads).hasValue(4);
+
+        cache.onTaskChanged(TaskChangedEvent.deleted(3L));
+        get(cache, TODO);
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    void get_doesNotStoreAPageLoadedAcrossAWrite() {
+        TaskListCache cache = cache(100, null);
+
+        cache.get(TODO, null, PAGE, null, () -> {
+            cache.onTaskChanged(TaskChangedEvent.created(task(1L, TaskStatus.TODO)));
+            return page();
+        });
+        get(cache, TODO);
+
+        assertThat(loads).hasValue(1);
+        get(cache, TODO);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void get_sharesPagesAcrossSearchCase() {
+        TaskListCache cache = cache(100, null);
+
+        get(cache, TaskFilter.of(null, null, "Report"));
+        get(cache, TaskFilter.of(null, null, "report"));
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void get_evictsUnreferencedPagesBeyondMaxEntries() {
+        TaskListCache cache = cache(2, null);
+        TaskFilter high = TaskFilter.of(null, TaskPriority.HIGH, null);
+        TaskFilter low = TaskFilter.of(null, TaskPriority.LOW, null);
+
+        get(cache, TODO);
+        get(cache, TODO);
+        get(cache, high);
+        get(cache, low);
+
+        assertThat(cache.size()).isEqualTo(2);
+        get(cache, TODO);
+        assertThat(loads).hasValue(3);
+        get(cache, high);
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void get_withReplica_storesNothingUntilTheWindowAfterAWriteHasPassed() {
+        TaskListCache cache = cache(100, "jdbc:h2:mem:replica");
+
+        get(cache, TODO);
+        get(cache, TODO);
+        assertThat(loads).hasValue(1);
+
+        cache.onTaskChanged(TaskChangedEvent.created(task(1L, TaskStatus.TODO)));
+        get(cache, TODO);
+        get(cache, TODO);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void get_whenDisabled_alwaysLoads() {
+        TaskListCache cache = new TaskListCache(new TaskListCacheProperties(false, 100), replica(null),
+                new SimpleMeterRegistry());
+
+        get(cache, TODO);
+        get(cache, TODO);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    private Page<TaskResponse> get(TaskListCache cache, TaskFilter filter) {
+        return cache.get(filter, null, PAGE, null, () -> {
+            loads.incrementAndGet();
+            return page();
+        });
+    }
+
+    private static TaskListCache cache(int maxEntries, String replicaUrl) {
+        return new TaskListCache(new TaskListCacheProperties(true, maxEntries), replica(replicaUrl),
+                new SimpleMeterRegistry());
+    }
+
+    private static ReplicaDataSourceProperties replica(String url) {
+        return new ReplicaDataSourceProperties(url, null, null, 10, Duration.ofHours(1), null);
+    }
+
+    private static Page<TaskResponse> page() {
+        return new PageImpl<>(List.of(task(1L, TaskStatus.TODO)), PAGE, 1);
+    }
+
+    private static TaskResponse task(long id, TaskStatus status) {
+        return new TaskResponse(id, "Task " + id, null, status, TaskPriority.MEDIUM, null, null, null, 0L, "user");
+    }
+}
@@ -1,30 +1,52 @@
 package com.devaloi.springapi.service;
 
+import com.devaloi.springapi.config.ReplicaDataSourceProperties;
+import com.devaloi.springapi.config.TaskListCacheProperties;
+import com.devaloi.springapi.config.TaskUpdateProperties;
 import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.OverdueSummary;
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
 import com.devaloi.springapi.dto.TaskResponse;
 import com.devaloi.springapi.dto.UpdateTaskRequest;
 import com.devaloi.springapi.entity.Task;
 import com.devaloi.springapi.entity.TaskPriority;
 import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.event.TaskChangedEvent;
+import com.devaloi.springapi.exception.TaskConflictException;
 import com.devaloi.springapi.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,16 +56,36 @@ class TaskServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OverdueIndex overdueIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskListCache listCache;
+
     private TaskServiceImpl taskService;
 
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        listCache = new TaskListCache(new TaskListCacheProperties(true, 100),
+                new ReplicaDataSourceProperties(null, null, null, 10, Duration.ofSeconds(2), null), meterRegistry);
+        TaskUpdateProperties updateProperties = new TaskUpdateProperties(3, Duration.ofMillis(1), Duration.ofMillis(1));
+        taskService = new TaskServiceImpl(taskRepository, eventPublisher, overdueIndex, transactionManager,
+                listCache, updateProperties, meterRegistry);
+    }
+
     @Test
     void create_savesAndReturnsTask() {
         CreateTaskRequest request = new CreateTaskRequest("Test task", "Description", null, null, null);
         Task saved = createTask(1L, "Test task", TaskStatus.TODO, TaskPriority.MEDIUM);
         when(taskRepository.save(any(Task.class))).thenReturn(saved);
 
-        TaskResponse response = taskService.create(request);
+        TaskResponse response = taskService.create(request, "user");
 
         assertThat(response.id()).isEqualTo(1L);
         assertThat(response.title()).isEqualTo("Test task");
@@ -58,7 +100,7 @@ class TaskServiceImplTest {
         Task saved = createTask(1L, "Urgent", TaskStatus.IN_PROGRESS, TaskPriority.HIGH);
         when(taskRepository.save(any(Task.class))).thenReturn(saved);
 
-        TaskResponse response = taskService.create(request);
+        TaskResponse response = taskService.create(request, "user");
 
         assertThat(response.status()).isEqualTo(TaskStatus.IN_PROGRESS);
         assertThat(response.priority()).isEqualTo(TaskPriority.HIGH);
@@ -84,19 +126,105 @@ class TaskServiceImplTest {
                 .hasMessageContaining("99");
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void getById_withFields_usesProjection() {
+        TupleElement<Object> titleElement = mock(TupleElement.class);
+        when(titleElement.getAlias()).thenReturn("title");
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getElements()).thenReturn(List.of(titleElement));
+        when(tuple.get(titleElement)).thenReturn("Projected");
+        when(taskRepository.findProjectedById(1L, EnumSet.of(TaskField.TITLE))).thenReturn(Optional.of(tuple));
+
+        TaskResponse response = taskService.getById(1L, EnumSet.of(TaskField.TITLE));
+
+        assertThat(response.title()).isEqualTo("Projected");
+        assertThat(response.id()).isNull();
+    }
+
     @Test
     void getAll_returnsPaginatedResults() {
         Task task = createTask(1L, "Task", TaskStatus.TODO, TaskPriority.MEDIUM);
         Pageable pageable = PageRequest.of(0, 20);
         Page<Task> page = new PageImpl<>(List.of(task), pageable, 1);
-        when(taskRepository.findWithFilters(null, null, null, pageable)).thenReturn(page);
+        LocalDate today = LocalDate.of(2025, 6, 1);
+        when(overdueIndex.today()).thenReturn(today);
+        when(taskRepository.findFiltered(TaskFilter.NONE, today, pageable)).thenReturn(page);
 
-        Page<TaskResponse> result = taskService.getAll(null, null, null, pageable);
+        Page<TaskResponse> result = taskService.getAll(TaskFilter.NONE, pageable);
 
         assertThat(result.getTotalElements()).isEqualTo(1);
         assertThat(result.getContent().get(0).title()).isEqualTo("Task");
     }
 
+    @Test
+    void getAll_servesRepeatedListingFromCacheUntilATaskChanges() {
+        Pageable pageable = PageRequest.of(0, 20);
+        TaskFilter todo = TaskFilter.of(TaskStatus.TODO, null, null);
+        when(taskRepository.findFiltered(todo, null, pageable)).thenReturn(new PageImpl<>(
+                List.of(createTask(1L, "Task", TaskStatus.TODO, TaskPriority.MEDIUM)), pageable, 1));
+
+        taskService.getAll(todo, pageable);
+        taskService.getAll(todo, pageable);
+        verify(taskRepository, times(1)).findFiltered(todo, null, pageable);
+
+        listCache.onTaskChanged(TaskChangedEvent.created(
+                TaskResponse.from(createTask(2L, "New", TaskStatus.TODO, TaskPriority.LOW))));
+        taskService.getAll(todo, pageable);
+        verify(taskRepository, times(2)).findFiltered(todo, null, pageable);
+    }
+
+    @Test
+    void getAll_overdueOnly_pagesFromIndexWithoutCounting() {
+        TaskFilter overdue = new TaskFilter(null, null, null, null, null, true, null);
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("dueDate"));
+        LocalDate today = LocalDate.of(2025, 6, 10);
+        when(overdueIndex.today()).thenReturn(today);
+        when(overdueIndex.ids(0, 2, false)).thenReturn(List.of(5L, 3L));
+        when(overdueIndex.count()).thenReturn(7L);
+        when(taskRepository.findAllById(List.of(5L, 3L))).thenReturn(List.of(
+                createDueTask(3L, TaskStatus.TODO, today.minusDays(1)),
+                createDueTask(5L, TaskStatus.IN_PROGRESS, today.minusDays(9))));
+
+        Page<TaskResponse> result = taskService.getAll(overdue, pageable);
+
+        assertThat(result.getContent()).extracting(TaskResponse::id).containsExactly(5L, 3L);
+        assertThat(result.getTotalElements()).isEqualTo(7);
+        verify(taskRepository, never()).findFiltered(any(), any(), any());
+    }
+
+    @Test
+    void getAll_overdueOnly_fallsBackToQueryWhenRowsDisagreeWithIndex() {
+        TaskFilter overdue = new TaskFilter(null, null, null, null, null, true, null);
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("dueDate"));
+        LocalDate today = LocalDate.of(2025, 6, 10);
+        when(overdueIndex.today()).thenReturn(today);
+        when(overdueIndex.ids(0, 2, false)).thenReturn(List.of(5L, 3L));
+        // 5 has not reached the replica yet, and 3 still shows the status it had before it was reopened.
+        when(taskRepository.findAllById(List.of(5L, 3L))).thenReturn(List.of(
+                createDueTask(3L, TaskStatus.DONE, today.minusDays(1))));
+        Page<Task> fromQuery = new PageImpl<>(List.of(createDueTask(8L, TaskStatus.TODO, today.minusDays(2))),
+                pageable, 1);
+        when(taskRepository.findFiltered(overdue, today, pageable)).thenReturn(fromQuery);
+
+        Page<TaskResponse> result = taskService.getAll(overdue, pageable);
+
+        assertThat(result.getContent()).extracting(TaskResponse::id).containsExactly(8L);
+        assertThat(result.getTotalElements()).isOne();
+        verify(overdueIndex, never()).count();
+    }
+
+    @Test
+    void getOverdueSummary_readsIndex() {
+        when(overdueIndex.count()).thenReturn(4L);
+        when(overdueIndex.today()).thenReturn(LocalDate.of(2025, 6, 1));
+
+        OverdueSummary summary = taskService.getOverdueSummary();
+
+        assertThat(summary.count()).isEqualTo(4);
+        assertThat(summary.asOf()).isEqualTo(LocalDate.of(2025, 6, 1));
+    }
+
     @Test
     void update_modifiesAndReturnsTask() {
         Task existing = createTask(1L, "Old title", TaskStatus.TODO, TaskPriority.LOW);
@@ -104,7 +232,7 @@ class TaskServiceImplTest {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(existing));
         when(taskRepository.save(any(Task.class))).thenReturn(updated);
 
-        UpdateTaskRequest request = new UpdateTaskRequest("New title", null, TaskStatus.DONE, null, null);
+        UpdateTaskRequest request = new UpdateTaskRequest("New title", null, TaskStatus.DONE, null, null, null);
         TaskResponse response = taskService.update(1L, request);
 
         assertThat(response.title()).isEqualTo("New title");
@@ -114,29 +242,80 @@ class TaskServiceImplTest {
     @Test
     void update_throwsWhenNotFound() {
         when(taskRepository.findById(99L)).thenReturn(Optional.empty());
-        UpdateTaskRequest request = new UpdateTaskRequest("Title", null, null, null, null);
+        UpdateTaskRequest request = new UpdateTaskRequest("Title", null, null, null, null, null);
 
         assertThatThrownBy(() -> taskService.update(99L, request))
                 .isInstanceOf(EntityNotFoundException.class);
     }
 
+    @Test
+    void update_reappliesFieldsAfterConcurrentWrite() {
+        Task first = createTask(1L, "Old title", TaskStatus.TODO, TaskPriority.LOW);
+        Task concurrent = createTask(1L, "Old title", TaskStatus.TODO, TaskPriority.HIGH);
+        concurrent.setVersion(1);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(first)).thenReturn(Optional.of(concurrent));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L)).doNothing().when(taskRepository).flush();
+
+        TaskResponse response = taskService.update(1L, new UpdateTaskRequest(null, null, TaskStatus.DONE, null, null, null));
+
+        assertThat(response.status()).isEqualTo(TaskStatus.DONE);
+        assertThat(response.priority()).isEqualTo(TaskPriority.HIGH);
+        verify(taskRepository, times(2)).findById(1L);
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void update_withStaleVersion_throwsConflictWithCurrentState() {
+        Task existing = createTask(1L, "Title", TaskStatus.TODO, TaskPriority.LOW);
+        existing.setVersion(3);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        assertThatThrownBy(() -> taskService.update(1L, new UpdateTaskRequest("New", null, null, null, null, 2L)))
+                .isInstanceOfSatisfying(TaskConflictException.class,
+                        ex -> assertThat(ex.getCurrent().version()).isEqualTo(3L));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void update_whenLosingEveryAttempt_throwsConflict() {
+        when(taskRepository.findById(1L))
+                .thenAnswer(invocation -> Optional.of(createTask(1L, "Title", TaskStatus.TODO, TaskPriority.LOW)));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L)).when(taskRepository).flush();
+
+        assertThatThrownBy(() -> taskService.update(1L, new UpdateTaskRequest("New", null, null, null, null, null)))
+                .isInstanceOfSatisfying(TaskConflictException.class,
+                        ex -> assertThat(ex.getCurrent().title()).isEqualTo("Title"));
+        verify(taskRepository, times(3)).flush();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
     @Test
     void delete_removesTask() {
-        when(taskRepository.existsById(1L)).thenReturn(true);
+        Task task = createTask(1L, "Task", TaskStatus.IN_PROGRESS, TaskPriority.MEDIUM);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
 
         taskService.delete(1L);
 
-        verify(taskRepository).deleteById(1L);
+        verify(taskRepository).delete(task);
+        verify(eventPublisher).publishEvent(TaskChangedEvent.deleted(1L, TaskStatus.IN_PROGRESS));
     }
 
     @Test
     void delete_throwsWhenNotFound() {
-        when(taskRepository.existsById(99L)).thenReturn(false);
+        when(taskRepository.findById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> taskService.delete(99L))
                 .isInstanceOf(EntityNotFoundException.class);
     }
 
+    private Task createDueTask(Long id, TaskStatus status, LocalDate dueDate) {
+        Task task = createTask(id, "Task " + id, status, TaskPriority.MEDIUM);
+        task.setDueDate(dueDate);
+        return task;
+    }
+
     private Task createTask(Long id, String title, TaskStatus status, TaskPriority priority) {
         Task task = new Task();
         task.setId(id);
@@ -0,0 +1,102 @@
+package com.devaloi.springapi.service;
+
+import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.dto.UpdateTaskRequest;
+import com.devaloi.springapi.exception.TaskConflictException;
+import com.devaloi.springapi.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:contention;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "tasks.warmup.enabled=false"
+})
+class TaskUpdateConcurrencyTest {
+
+    private static final int HOT_TASKS = 2;
+    private static final int UPDATES_PER_WRITER = 25;
+    private static final LocalDate BASE_DATE = LocalDate.of(2025, 1, 1);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+    }
+
+    /**
+     * Three writers per task each own one field and keep advancing it. Before versioning, every update wrote
+     * back the fields it had read, so a writer could roll another's field back to an older value.
+     */
+    @Test
+    void concurrentPartialUpdates_keepEveryWriterLatestValue() throws Exception {
+        List<TaskResponse> tasks = new ArrayList<>();
+        for (int i = 0; i < HOT_TASKS; i++) {
+            tasks.add(taskService.create(new CreateTaskRequest("hot-" + i, null, null, null, null), "user"));
+        }
+        List<IntFunction<UpdateTaskRequest>> writers = List.of(
+                i -> new UpdateTaskRequest("title-" + i, null, null, null, null, null),
+                i -> new UpdateTaskRequest(null, "description-" + i, null, null, null, null),
+                i -> new UpdateTaskRequest(null, null, null, null, BASE_DATE.plusDays(i), null));
+
+        ExecutorService executor = Executors.newFixedThreadPool(HOT_TASKS * writers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (TaskResponse task : tasks) {
+                for (IntFunction<UpdateTaskRequest> writer : writers) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        for (int i = 1; i <= UPDATES_PER_WRITER; i++) {
+                            updateUntilApplied(task.id(), writer.apply(i));
+                        }
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (TaskResponse task : tasks) {
+            TaskResponse last = taskService.getById(task.id());
+            assertThat(last.title()).isEqualTo("title-" + UPDATES_PER_WRITER);
+            assertThat(last.description()).isEqualTo("description-" + UPDATES_PER_WRITER);
+            assertThat(last.dueDate()).isEqualTo(BASE_DATE.plusDays(UPDATES_PER_WRITER));
+            assertThat(last.version()).isEqualTo(task.version() + (long) writers.size() * UPDATES_PER_WRITER);
+        }
+    }
+
+    private void updateUntilApplied(Long id, UpdateTaskRequest request) {
+        while (true) {
+            try {
+                taskService.update(id, request);
+                return;
+            } catch (TaskConflictException ex) {
+                // Still contended after the service's own retries; a client would try again as well.
+            }
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.devaloi.springapi.service.memory;
+
+import com.devaloi.springapi.config.TaskEngineProperties;
+import com.devaloi.springapi.dto.CreateTaskRequest;
+import com.devaloi.springapi.dto.TaskField;
+import com.devaloi.springapi.dto.TaskFilter;
+import com.devaloi.springapi.dto.TaskResponse;
+import com.devaloi.springapi.dto.TaskStats;
+import com.devaloi.springapi.dto.UpdateTaskRequest;
+import com.devaloi.springapi.entity.Task;
+import com.devaloi.springapi.entity.TaskPriority;
+import com.devaloi.springapi.entity.TaskStatus;
+import com.devaloi.springapi.exception.TaskConflictException;
+import com.devaloi.springapi.journal.TaskJournal;
+import com.devaloi.springapi.repository.TaskBatchRepository;
+import com.devaloi.springapi.repository.TaskRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryTaskServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskBatchRepository batchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ObjectProvider<TaskJournal> journal;
+
+    @Test
+    void create_savesAndReturnsTask() {
+        InMemoryTaskService taskService = memoryOnly();
+
+        TaskResponse response = taskService.create(new CreateTaskRequest("Test task", "Description", null, null, null), "user");
+
+        assertThat(response.id()).isEqualTo(1L);
+        assertThat(response.title()).isEqualTo("Test task");
+        assertThat(response.status()).isEqualTo(TaskStatus.TODO);
+        assertThat(response.priority()).isEqualTo(TaskPriority.MEDIUM);
+        assertThat(response.createdAt()).isNotNull();
+    }
+
+    @Test
+    void create_withExplicitStatusAndPriority() {
+        InMemoryTaskService taskService = memoryOnly();
+
+        TaskResponse response = taskService.create(
+                new CreateTaskRequest("Urgent", null, TaskStatus.IN_PROGRESS, TaskPriority.HIGH, null), "user");
+
+        assertThat(response.status()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(response.priority()).isEqualTo(TaskPriority.HIGH);
+    }
+
+    @Test
+    void getById_returnsTask() {
+        InMemoryTaskService taskService = memoryOnly();
+        Long id = taskService.create(new CreateTaskRequest("Found task", null, null, TaskPriority.LOW, null), "user").id();
+
+        TaskResponse response = taskService.getById(id);
+
+        assertThat(response.id()).isEqualTo(id);
+        assertThat(response.title()).isEqualTo("Found task");
+    }
+
+    @Test
+    void getById_throwsWhenNotFound() {
+        InMemoryTaskService taskService = memoryOnly();
+
+        assertThatThrownBy(() -> taskService.getById(99L))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("99");
+    }
+
+    @Test
+    void getById_withFields_returnsOnlyRequestedFields() {
+        InMemoryTaskService taskService = memoryOnly();
+        Long id = taskService.create(new CreateTaskRequest("Projected", "Hidden", null, null, null), "user").id();
+
+        TaskResponse response = taskService.getById(id, EnumSet.of(TaskField.TITLE));
+
+        assertThat(response.title()).isEqualTo("Projected");
+        assertThat(response.id()).isNull();
+        assertThat(response.description()).isNull();
+    }
+
+    @Test
+    void getAll_returnsPaginatedResults() {
+        InMemoryTaskService taskService = memoryOnly();
+        taskService.create(new CreateTaskRequest("Task", null, null, null, null), "user");
+
+        Page<TaskResponse> result = taskService.getAll(TaskFilter.NONE, PageRequest.of(0, 20));
+
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        assertThat(result.getContent().get(0).title()).isEqualTo("Task");
+    }
+
+    @Test
+    void getAll_combinesFiltersAndCountsAllMatches() {
+        InMemoryTaskService taskService = memoryOnly();
+        for (int i = 0; i < 5; i++) {
+            taskService.create(new CreateTaskRequest("Report " + i, null, TaskStatus.TODO, TaskPriority.HIGH, null), "user");
+        }
+        taskService.create(new CreateTaskRequest("Report low", null, TaskStatus.TODO, TaskPriority.LOW, null), "user");
+        taskService.create(new CreateTaskRequest("Other", null, TaskStatus.DONE, TaskPriority.HIGH, null), "user");
+
+        Page<TaskResponse> byStatus = taskService.getAll(TaskFilter.of(TaskStatus.TODO, null, null), PageRequest.of(1, 4));
+        Page<TaskResponse> combined = taskService.getAll(TaskFilter.of(TaskStatus.TODO, TaskPriority.HIGH, "REPORT"),
+                PageRequest.of(0, 2));
+
+        assertThat(byStatus.getTotalElements()).isEqualTo(6);
+        assertThat(byStatus.getContent()).hasSize(2);
+        assertThat(combined.getTotalElements()).isEqualTo(5);
+        assertThat(combined.getContent()).extracting(TaskResponse::title).containsExactly("Report 0", "Report 1");
+    }
+
+    @Test
+    void getAll_sortsLikeTheDatabase() {
+        InMemoryTaskService taskService = memoryOnly();
+        taskService.create(new CreateTaskRequest("b", null, TaskStatus.TODO, TaskPriority.LOW, LocalDate.of(2025, 3, 1)), "user");
+        taskService.create(new CreateTaskRequest("a", null, TaskStatus.DONE, TaskPriority.HIGH, null), "user");
+        taskService.create(new CreateTaskRequest("c", null, TaskStatus.IN_PROGRESS, TaskPriority.MEDIUM,
+                LocalDate.of(2025, 1, 1)), "user");
+
+        assertThat(titles(taskService, Sort.by("title"))).containsExactly("a", "b", "c");
+        assertThat(titles(taskService, Sort.by(Sort.Direction.DESC, "createdAt"))).containsExactly("c", "a", "b");
+        assertThat(titles(taskService, Sort.by("dueDate"))).containsExactly("a", "c", "b");
+        assertThat(titles(taskService, Sort.by(Sort.Direction.DESC, "dueDate"))).containsExactly("b", "c", "a");
+        assertThat(titles(taskService, Sort.by("status"))).containsExactly("a", "c", "b");
+        assertThat(titles(taskService, Sort.by("priority", "title"))).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void getAll_filtersByDueRangeAndOverdue() {
+        InMemoryTaskService taskService = memoryOnly();
+        LocalDate today = LocalDate.now();
+        taskService.create(new CreateTaskRequest("Late", null, TaskStatus.TODO, null, today.minusDays(3)), "user");
+        taskService.create(new CreateTaskRequest("Late but done", null, TaskStatus.DONE, null, today.minusDays(2)), "user");
+        taskService.create(new CreateTaskRequest("Due today", null, TaskStatus.TODO, null, today), "user");
+        taskService.create(new CreateTaskRequest("Undated", null, TaskStatus.TODO, null, null), "user");
+
+        TaskFilter range = new TaskFilter(null, null, null, today.minusDays(2), today, null, null);
+        TaskFilter overdue = new TaskFilter(null, null, null, null, null, true, null);
+        TaskFilter notOverdue = new TaskFilter(null, null, null, null, null, false, null);
+
+        assertThat(taskService.getAll(range, PageRequest.of(0, 20, Sort.by("title"))).map(TaskResponse::title))
+                .containsExactly("Due today", "Late but done");
+        assertThat(taskService.getAll(overdue, PageRequest.of(0, 20)).map(TaskResponse::title))
+                .containsExactly("Late");
+        assertThat(taskService.getAll(notOverdue, PageRequest.of(0, 20)).getTotalElements()).isEqualTo(3);
+        assertThat(taskService.getOverdueSummary().count()).isOne();
+    }
+
+    @Test
+    void getAllAndStats_scopeToOwner() {
+        InMemoryTaskService taskService = memoryOnly();
+        LocalDate today = LocalDate.now();
+        taskService.create(new CreateTaskRequest("Alice late", null, TaskStatus.TODO, null, today.minusDays(1)), "alice");
+        taskService.create(new CreateTaskRequest("Alice done", null, TaskStatus.DONE, null, null), "alice");
+        taskService.create(new CreateTaskRequest("Bob late", null, TaskStatus.TODO, null, today.minusDays(1)), "bob");
+
+        Page<TaskResponse> mine = taskService.getAll(TaskFilter.of(TaskStatus.TODO, null, null).withOwner("alice"),
+                PageRequest.of(0, 20));
+        TaskStats stats = taskService.getStats("alice");
+
+        assertThat(mine.getContent()).extracting(TaskResponse::title).containsExactly("Alice late");
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.byStatus()).containsEntry(TaskStatus.TODO, 1L).containsEntry(TaskStatus.DONE, 1L)
+                .containsEntry(TaskStatus.IN_PROGRESS, 0L);
+        assertThat(stats.overdue()).isOne();
+        assertThat(taskService.getStats("carol").total()).isZero();
+    }
+
+    @Test
+    void update_modifiesAndReturnsTask() {
+        InMemoryTaskService taskService = memoryOnly();
+        Long id = taskService.create(new CreateTaskRequest("Old title", null, null, TaskPriority.LOW, null), "user").id();
+
+        UpdateTaskRequest request = new UpdateTaskRequest("New title", null, TaskStatus.DONE, null, null, null);
+        TaskResponse response = taskService.update(id, request);
+
+        assertThat(response.title()).isEqualTo("New title");
+        assertThat(response.status()).isEqualTo(TaskStatus.DONE);
+        assertThat(taskService.getAll(TaskFilter.of(TaskStatus.TODO, null, null), PageRequest.of(0, 20)).getTotalElements()).isZero();
+        assertThat(taskService.getAll(TaskFilter.of(TaskStatus.DONE, null, null), PageRequest.of(0, 20)).getTotalElements()).isOne();
+    }
+
+    @Test
+    void update_withStaleVersion_throwsConflictAndKeepsTask() {
+        InMemoryTaskService taskService = memoryOnly();
+        TaskResponse created = taskService.create(new CreateTaskRequest("Original", null, null, null, null), "user");
+        taskService.update(created.id(), new UpdateTaskRequest("Theirs", null, null, null, null, created.version()));
+
+        assertThatThrownBy(() -> taskService.update(created.id(),
+                new UpdateTaskRequest("Mine", null, null, null, null, created.version())))
+                .isInstanceOfSatisfying(TaskConflictException.class,
+                        ex -> assertThat(ex.getCurrent().version()).isEqualTo(created.version() + 1));
+        assertThat(taskService.getById(created.id()).title()).isEqualTo("Theirs");
+    }
+
+    @Test
+    void update_throwsWhenNotFound() {
+        InMemoryTaskService taskService = memoryOnly();
+        UpdateTaskRequest request = new UpdateTaskRequest("Title", null, null, null, null, null);
+
+        assertThatThrownBy(() -> taskService.update(99L, request))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void delete_removesTask() {
+        InMemoryTaskService taskService = memoryOnly();
+        Long id = taskService.create(new CreateTaskRequest("Doomed", null, null, null, null), "user").id();
+
+        taskService.delete(id);
+
+        assertThatThrownBy(() -> taskService.getById(id)).isInstanceOf(EntityNotFoundException.class);
+        assertThat(taskService.getAll(TaskFilter.NONE, PageRequest.of(0, 20)).getTotalElements()).isZero();
+    }
+
+    @Test
+    void delete_throwsWhenNotFound() {
+        InMemoryTaskService taskService = memoryOnly();
+
+        assertThatThrownBy(() -> taskService.delete(99L))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void writeThrough_createsInDatabaseBeforeMemory() {
+        InMemoryTaskService taskService = writeThrough();
+        when(taskRepository.save(any(Task.class))).thenReturn(createTask(7L, "Durable"));
+
+        TaskResponse response = taskService.create(new CreateTaskRequest("Durable", null, null, null, null), "user");
+
+        assertThat(response.id()).isEqualTo(7L);
+        assertThat(taskService.getById(7L).title()).isEqualTo("Durable");
+    }
+
+    @Test
+    void writeThrough_deletesFromDatabase() {
+        InMemoryTaskService taskService = writeThrough();
+        when(taskRepository.save(any(Task.class))).thenReturn(createTask(7L, "Durable"));
+        taskService.create(new CreateTaskRequest("Durable", null, null, null, null), "user");
+
+        taskService.delete(7L);
+
+        verify(taskRepository).deleteById(7L);
+    }
+
+    @Test
+    void writeThrough_loadsExistingTasks() {
+        InMemoryTaskService taskService = writeThrough();
+        when(taskRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(createTask(3L, "Persisted"))));
+        when(taskRepository.findById(3L)).thenReturn(Optional.of(createTask(3L, "Persisted")));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        taskService.afterSingletonsInstantiated();
+        TaskResponse updated = taskService.update(3L, new UpdateTaskRequest(null, null, TaskStatus.DONE, null, null, null));
+
+        assertThat(updated.title()).isEqualTo("Persisted");
+        assertThat(updated.status()).isEqualTo(TaskStatus.DONE);
+    }
+
+    @Test
+    void insertAll_publishesIngestedTasks() {
+        InMemoryTaskService taskService = memoryOnly();
+        long first = taskService.nextIdBlock();
+        Task ingested = createTask(first, "Ingested");
+
+        taskService.insertAll(List.of(ingested));
+
+        assertThat(taskService.getById(first).title()).isEqualTo("Ingested");
+        assertThat(taskService.create(new CreateTaskRequest("Next", null, null, null, null), "user").id())
+                .isGreaterThanOrEqualTo(first + Task.ID_ALLOCATION_SIZE);
+    }
+
+    private InMemoryTaskService memoryOnly() {
+        return new InMemoryTaskService(new TaskEngineProperties(TaskEngineProperties.Type.MEMORY, false, 100),
+                taskRepository, batchRepository, transactionManager, eventPublisher, journal);
+    }
+
+    private InMemoryTaskService writeThrough() {
+        return new InMemoryTaskService(new TaskEngineProperties(TaskEngineProperties.Type.MEMORY, true, 100),
+                taskRepository, batchRepository, transactionManager, eventPublisher, journal);
+    }
+
+    private List<String> titles(InMemoryTaskService taskService, Sort sort) {
+        return taskService.getAll(TaskFilter.NONE, PageRequest.of(0, 20, sort)).map(TaskResponse::title).getContent();
+    }
+
+    private Task createTask(Long id, String title) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setStatus(TaskStatus.TODO);
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUpdatedAt(LocalDateTime.now());
+        return task;
+    }
+}
@@ -0,0 +1,43 @@
+package com.devaloi.springapi.service.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedLongMapTest {
+
+    @Test
+    void putGetRemove_matchReferenceMapAcrossResizes() {
+        StripedLongMap<String> map = new StripedLongMap<>();
+        Map<Long, String> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(reference.remove(key));
+            } else {
+                String value = "v" + i;
+                assertThat(map.put(key, value)).isEqualTo(reference.put(key, value));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(reference.size());
+        for (long key = 1; key <= 5_000; key++) {
+            assertThat(map.get(key)).isEqualTo(reference.get(key));
+        }
+        assertThat(map.values()).containsExactlyInAnyOrderElementsOf(reference.values());
+    }
+
+    @Test
+    void put_rejectsNonPositiveKeys() {
+        StripedLongMap<String> map = new StripedLongMap<>();
+
+        assertThatThrownBy(() -> map.put(0, "zero")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
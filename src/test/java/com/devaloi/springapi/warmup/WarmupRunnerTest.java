@@ -0,0 +1,78 @@
+package com.devaloi.springapi.warmup;
+
+import com.devaloi.springapi.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:warmup;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "tasks.warmup.enabled=true",
+        "tasks.warmup.iterations=3"
+})
+class WarmupRunnerTest {
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReadinessRecorder readiness;
+
+    @Test
+    void warmup_completesBeforeReadinessAndLeavesNoData() {
+        assertThat(readiness.changes).containsExactly(
+                new ReadinessChange(ReadinessState.ACCEPTING_TRAFFIC, 3.0, 1));
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(taskRepository.count()).isZero();
+    }
+
+    @TestConfiguration
+    static class ReadinessRecorderConfig {
+
+        @Bean
+        ReadinessRecorder readinessRecorder(MeterRegistry meterRegistry) {
+            return new ReadinessRecorder(meterRegistry);
+        }
+    }
+
+    /**
+     * What the warmup meters said at the moment readiness changed.
+     */
+    record ReadinessChange(ReadinessState state, double iterations, long warmups) {
+    }
+
+    static class ReadinessRecorder {
+
+        private final MeterRegistry meterRegistry;
+        private final List<ReadinessChange> changes = new CopyOnWriteArrayList<>();
+
+        ReadinessRecorder(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @EventListener
+        void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+            changes.add(new ReadinessChange(event.getState(),
+                    meterRegistry.get("tasks.warmup.iterations").counter().count(),
+                    meterRegistry.get("tasks.warmup").timer().count()));
+        }
+    }
+}